@@ -0,0 +1,52 @@
+package register;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// What generateInitialStudents does for a fresh register: generate the students, then index them.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class GenerationBenchmarks {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int registerSize;
+
+    @Benchmark
+    public Student[] generateStudents() {
+        return generator().generate(1, registerSize, 42);
+    }
+
+    @Benchmark
+    public void generateAndIndexStudents(Blackhole blackhole) {
+        List<Student> generated = Arrays.asList(generator().generate(1, registerSize, 42));
+        StudentStore students = new StudentStore();
+        generated.forEach(students::put);
+        StudentIndex index = new StudentIndex(students::get);
+        CourseRoster rosters = new CourseRoster();
+        index.addAll(generated);
+        rosters.addAll(generated);
+        blackhole.consume(index);
+        blackhole.consume(rosters);
+    }
+
+    private static StudentGenerator generator() {
+        return new StudentGenerator(UniversityRegister.FIRST_NAMES, UniversityRegister.SURNAMES, UniversityRegister.createCourses());
+    }
+}
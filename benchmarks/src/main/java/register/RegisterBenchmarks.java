@@ -0,0 +1,103 @@
+package register;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Query paths of the register at increasing sizes. Run with -prof gc to see allocation rates.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class RegisterBenchmarks {
+    private static final String COURSE = "Physics";
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int registerSize;
+
+    private final StudentStore students = new StudentStore();
+    private final StudentIndex index = new StudentIndex(students::get);
+    private final CourseRoster rosters = new CourseRoster();
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void loadRegister() {
+        StudentGenerator generator = new StudentGenerator(UniversityRegister.FIRST_NAMES, UniversityRegister.SURNAMES,
+                UniversityRegister.createCourses());
+        List<Student> generated = Arrays.asList(generator.generate(1, registerSize, 42));
+        generated.forEach(students::put);
+        index.addAll(generated);
+        rosters.addAll(generated);
+    }
+
+    @Benchmark
+    public List<Student> searchByFirstName() {
+        return index.searchFirstName("ali");
+    }
+
+    @Benchmark
+    public List<Student> searchByLastName() {
+        return index.searchSurname("son");
+    }
+
+    // the first page of a one-letter search, as the portal sends; this should not grow with the register
+    @Benchmark
+    public StudentIndex.Page firstPageOfSurnameSearch() {
+        return index.searchSurname("s", 0, 50);
+    }
+
+    @Benchmark
+    public List<Student> fuzzySearchByLastName() {
+        return index.fuzzySearchSurname("Wilsen");
+    }
+
+    @Benchmark
+    public Student searchByStudentNumber() {
+        return index.get(random.nextInt(registerSize) + 1);
+    }
+
+    @Benchmark
+    public void displayAlphabetically() {
+        display(CourseRoster.Order.ALPHABETICAL);
+    }
+
+    @Benchmark
+    public void displayByHighestGrade() {
+        display(CourseRoster.Order.HIGHEST_GRADE);
+    }
+
+    @Benchmark
+    public void displayByLowestGrade() {
+        display(CourseRoster.Order.LOWEST_GRADE);
+    }
+
+    // the first screen of a listing; this should not grow with the register
+    @Benchmark
+    public CourseRoster.Page firstPageByHighestGrade() {
+        return rosters.page(COURSE, CourseRoster.Order.HIGHEST_GRADE, null, 0, 20);
+    }
+
+    private void display(CourseRoster.Order order) {
+        ReportWriter report = new ReportWriter(sink);
+        UniversityRegister.writeCourseListing(report, "Students on course " + COURSE + ":",
+                rosters.page(COURSE, order, null, 0, Integer.MAX_VALUE).entries());
+        report.flush();
+    }
+}
@@ -0,0 +1,54 @@
+package register;
+
+import java.lang.ref.Reference;
+import java.util.function.Supplier;
+
+// Heap retained by the console register for each student store: the store alone, then with the name index and
+// course rosters over it. JMH measures time, not retained heap, so this is a plain main class:
+//
+//     java -Xmx8g -cp target/benchmarks.jar register.RegisterFootprint 1000000
+public class RegisterFootprint {
+
+    public static void main(String[] args) {
+        int registerSize = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        measure("objects", registerSize, StudentStore::new, false);
+        measure("columnar", registerSize, GradeStore::new, true);
+    }
+
+    private static void measure(String name, int registerSize, Supplier<StudentTable> store, boolean lookupRosters) {
+        long before = usedHeap();
+        StudentTable students = store.get();
+        fill(students, registerSize);
+        long stored = usedHeap();
+        StudentIndex index = new StudentIndex(students::get);
+        CourseRoster rosters = lookupRosters ? new CourseRoster(students::get) : new CourseRoster();
+        index.addAll(students);
+        rosters.addAll(students);
+        long indexed = usedHeap();
+        System.out.printf("%-9s %,d students: store %,d B/student, with index and rosters %,d B/student%n",
+                name, students.size(), (stored - before) / registerSize, (indexed - before) / registerSize);
+        // keep everything reachable until it has been measured
+        Reference.reachabilityFence(index);
+        Reference.reachabilityFence(rosters);
+    }
+
+    // the generated array is dropped before measuring, so only what the store keeps is counted
+    private static void fill(StudentTable students, int registerSize) {
+        StudentGenerator generator = new StudentGenerator(UniversityRegister.FIRST_NAMES, UniversityRegister.SURNAMES,
+                UniversityRegister.createCourses());
+        for (Student student : generator.generate(1, registerSize, 42)) {
+            students.put(student);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // a few collections in a row settle on the live set
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
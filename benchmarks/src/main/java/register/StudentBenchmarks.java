@@ -0,0 +1,47 @@
+package register;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Per-student operations; these do not depend on the register size.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentBenchmarks {
+    private Student student;
+    private Course course;
+    private List<Module> updatedModules;
+
+    @Setup
+    public void createStudent() {
+        course = UniversityRegister.createCourses().get(2);
+        student = new Student(1, "Alice", "Smith", List.of(course));
+        updatedModules = course.modules().stream()
+                .map(module -> new Module(module.getName(), 70))
+                .toList();
+    }
+
+    @Benchmark
+    public Student updateGrades() {
+        return student.updateGrades(course.getName(), updatedModules);
+    }
+
+    @Benchmark
+    public double calculateAverageGrade() {
+        return course.calculateAverageGrade();
+    }
+}
@@ -0,0 +1,230 @@
+package register;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+// Thread-safe register. Writers to the same student serialise on one of a fixed set of striped locks, which
+// is all the concurrent course rosters need to see each student's changes in order, and the name index is
+// only locked for adds and removes because grade updates never change a name. Course pages and summaries
+// are per-course snapshots that only wait for writers when they keep overlapping them, see CourseRoster.
+class ConcurrentRegister {
+    private static final int STRIPES = 64;
+
+    private final AtomicInteger studentCounter;
+    private final ConcurrentHashMap<Integer, Student> students = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private final StudentIndex index = new StudentIndex(students::get);
+    private final CourseRoster rosters = new CourseRoster();
+
+    ConcurrentRegister(int nextStudentNumber) {
+        studentCounter = new AtomicInteger(nextStudentNumber);
+        Arrays.setAll(stripes, i -> new ReentrantLock());
+    }
+
+    public static ConcurrentRegister of(Collection<Student> students, int nextStudentNumber) {
+        ConcurrentRegister register = new ConcurrentRegister(nextStudentNumber);
+        register.putAll(students);
+        return register;
+    }
+
+    public int size() {
+        return students.size();
+    }
+
+    public int nextStudentNumber() {
+        return studentCounter.get();
+    }
+
+    // Never hands out a number below the given one, e.g. the numbers of students removed before a snapshot.
+    public void advanceNextStudentNumber(int nextStudentNumber) {
+        studentCounter.accumulateAndGet(nextStudentNumber, Math::max);
+    }
+
+    public Optional<Student> get(int studentNumber) {
+        return Optional.ofNullable(students.get(studentNumber));
+    }
+
+    // Every student in no particular order: only the references are copied, for taking a snapshot while
+    // writers are held off.
+    public List<Student> copyStudents() {
+        return new ArrayList<>(students.values());
+    }
+
+    public Student add(String firstName, String surname, List<Course> enrolledCourses) {
+        Student student = new Student(studentCounter.getAndIncrement(), firstName, surname, List.copyOf(enrolledCourses));
+        put(student);
+        return student;
+    }
+
+    // Inserts or replaces a student under an existing number, e.g. when loading or replaying a register.
+    public void put(Student student) {
+        studentCounter.accumulateAndGet(student.studentNumber() + 1, Math::max);
+        ReentrantLock stripe = stripe(student.studentNumber());
+        stripe.lock();
+        try {
+            Student previous = students.put(student.studentNumber(), student);
+            if (previous == null || !previous.firstName().equals(student.firstName())
+                    || !previous.surname().equals(student.surname())) {
+                withIndex(() -> index.move(previous, student));
+            }
+            rosters.move(previous, student);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    // Bulk put for loading a register before it is served. The index and rosters are built in bulk rather than
+    // under each student's stripe, so this must not run alongside other writers.
+    public void putAll(Collection<Student> loaded) {
+        for (Student student : loaded) {
+            studentCounter.accumulateAndGet(student.studentNumber() + 1, Math::max);
+            Student previous = students.put(student.studentNumber(), student);
+            if (previous != null) {
+                withIndex(() -> index.remove(previous));
+                rosters.remove(previous);
+            }
+        }
+        withIndex(() -> index.addAll(loaded));
+        rosters.addAll(loaded);
+    }
+
+    public Optional<Student> updateGrades(int studentNumber, String courseName, List<Module> updatedModules) {
+        return update(studentNumber, student -> student.updateGrades(courseName, updatedModules));
+    }
+
+    public Optional<Student> update(int studentNumber, UnaryOperator<Student> change) {
+        ReentrantLock stripe = stripe(studentNumber);
+        stripe.lock();
+        try {
+            Student previous = students.get(studentNumber);
+            if (previous == null) {
+                return Optional.empty();
+            }
+            Student updated = change.apply(previous);
+            students.put(studentNumber, updated);
+            rosters.move(previous, updated);
+            return Optional.of(updated);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    public boolean remove(int studentNumber) {
+        return remove(studentNumber, number -> {
+        });
+    }
+
+    // beforeRemoval runs with the student's stripe held, so it is ordered with that student's updates.
+    public boolean remove(int studentNumber, IntConsumer beforeRemoval) {
+        ReentrantLock stripe = stripe(studentNumber);
+        stripe.lock();
+        try {
+            if (!students.containsKey(studentNumber)) {
+                return false;
+            }
+            beforeRemoval.accept(studentNumber);
+            Student removed = students.remove(studentNumber);
+            withIndex(() -> index.remove(removed));
+            rosters.move(removed, null);
+            return true;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    public List<Student> searchFirstName(String query) {
+        return read(() -> index.searchFirstName(query));
+    }
+
+    public List<Student> searchSurname(String query) {
+        return read(() -> index.searchSurname(query));
+    }
+
+    public List<Student> fuzzySearchFirstName(String query) {
+        return read(() -> index.fuzzySearchFirstName(query));
+    }
+
+    public List<Student> fuzzySearchSurname(String query) {
+        return read(() -> index.fuzzySearchSurname(query));
+    }
+
+    public StudentIndex.Page searchFirstName(String query, int offset, int limit) {
+        return read(() -> index.searchFirstName(query, offset, limit));
+    }
+
+    public StudentIndex.Page searchSurname(String query, int offset, int limit) {
+        return read(() -> index.searchSurname(query, offset, limit));
+    }
+
+    public StudentIndex.Page fuzzySearchFirstName(String query, int offset, int limit) {
+        return read(() -> index.fuzzySearchFirstName(query, offset, limit));
+    }
+
+    public StudentIndex.Page fuzzySearchSurname(String query, int offset, int limit) {
+        return read(() -> index.fuzzySearchSurname(query, offset, limit));
+    }
+
+    public int courseSize(String courseName) {
+        return rosters.size(courseName);
+    }
+
+    public GradeSummary courseSummary(String courseName) {
+        return rosters.summary(courseName);
+    }
+
+    public Map<String, Integer> courseSizes() {
+        return rosters.sizes();
+    }
+
+    public CourseRoster.Page page(String courseName, CourseRoster.Order order, CourseRoster.ListingKey after,
+                                  int offset, int limit) {
+        return rosters.page(courseName, order, after, offset, limit);
+    }
+
+    public List<Student> alphabetical(String courseName, int limit) {
+        return rosters.alphabetical(courseName, limit);
+    }
+
+    public List<Student> byHighestGrade(String courseName, int limit) {
+        return rosters.byHighestGrade(courseName, limit);
+    }
+
+    public List<Student> byLowestGrade(String courseName, int limit) {
+        return rosters.byLowestGrade(courseName, limit);
+    }
+
+    private ReentrantLock stripe(int studentNumber) {
+        return stripes[Math.floorMod(studentNumber, STRIPES)];
+    }
+
+    private void withIndex(Runnable change) {
+        indexLock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(Supplier<T> search) {
+        indexLock.readLock().lock();
+        try {
+            return search.get();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+}
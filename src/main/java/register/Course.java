@@ -0,0 +1,53 @@
+package register;
+
+import java.util.List;
+import java.util.Objects;
+
+// A course is its name and modules. The grade summary is worked out once when the course is built, so averages
+// are O(1) to read; it is derived state rather than a component, so it takes no part in equality.
+final class Course implements Enrollable {
+    private final String name;
+    private final List<Module> modules;
+    private final GradeSummary summary;
+
+    Course(String name, List<Module> modules) {
+        this.name = name;
+        this.modules = List.copyOf(modules);
+        this.summary = GradeSummary.of(this.modules);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<Module> modules() {
+        return modules;
+    }
+
+    public GradeSummary summary() {
+        return summary;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double calculateAverageGrade() {
+        return summary.average();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Course course && name.equals(course.name) && modules.equals(course.modules);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, modules);
+    }
+
+    @Override
+    public String toString() {
+        return "Course[name=" + name + ", modules=" + modules + "]";
+    }
+}
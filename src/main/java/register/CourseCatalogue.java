@@ -0,0 +1,128 @@
+package register;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// The fixed set of courses students can enrol in. Each course and module name is one shared string with an
+// integer id, and every module has its 101 possible grades preallocated, so students share Module instances
+// instead of each holding their own copies. Lookups by name ignore case like the rest of the register.
+class CourseCatalogue {
+    static final CourseCatalogue STANDARD = new CourseCatalogue(List.of(
+            new Course("Mathematics", List.of(new Module("Algebra", 0), new Module("Calculus", 0), new Module("Statistics", 0))),
+            new Course("Computer Science", List.of(new Module("Programming", 0), new Module("Data Structures", 0), new Module("Algorithms", 0))),
+            new Course("Physics", List.of(new Module("Mechanics", 0), new Module("Electromagnetism", 0), new Module("Quantum Physics", 0))),
+            new Course("Psychology", List.of(new Module("Ethics", 0), new Module("Social Sciences", 0), new Module("Critical Reasoning", 0)))));
+
+    private static final int MAX_GRADE = 100;
+
+    private final List<Course> courses;
+    private final Map<String, Integer> courseIds = new HashMap<>();
+    private final List<Map<String, Integer>> moduleIds = new ArrayList<>();
+    private final Module[][][] modules;
+
+    CourseCatalogue(List<Course> definitions) {
+        modules = new Module[definitions.size()][][];
+        List<Course> canonical = new ArrayList<>(definitions.size());
+        for (int course = 0; course < definitions.size(); course++) {
+            Course definition = definitions.get(course);
+            addName(courseIds, definition.getName(), course);
+            Map<String, Integer> ids = new HashMap<>();
+            modules[course] = new Module[definition.modules().size()][];
+            for (int module = 0; module < modules[course].length; module++) {
+                String moduleName = definition.modules().get(module).getName();
+                addName(ids, moduleName, module);
+                modules[course][module] = new Module[MAX_GRADE + 1];
+                for (int grade = 0; grade <= MAX_GRADE; grade++) {
+                    modules[course][module][grade] = new Module(moduleName, grade);
+                }
+            }
+            moduleIds.add(ids);
+            canonical.add(new Course(definition.getName(), moduleList(course, definition.modules())));
+        }
+        courses = List.copyOf(canonical);
+    }
+
+    // Reuses the standard catalogue when given its courses, so generated students share its instances.
+    static CourseCatalogue of(List<Course> courses) {
+        return courses.equals(STANDARD.courses) ? STANDARD : new CourseCatalogue(courses);
+    }
+
+    private static void addName(Map<String, Integer> ids, String name, int id) {
+        ids.putIfAbsent(name, id);
+        ids.putIfAbsent(name.toLowerCase(Locale.ROOT), id);
+    }
+
+    // exact spelling first, so the common case never allocates a lower-cased copy
+    private static int lookup(Map<String, Integer> ids, String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = ids.get(name.toLowerCase(Locale.ROOT));
+        }
+        return id == null ? -1 : id;
+    }
+
+    public List<Course> courses() {
+        return courses;
+    }
+
+    public int size() {
+        return courses.size();
+    }
+
+    public int courseId(String courseName) {
+        return lookup(courseIds, courseName);
+    }
+
+    public int moduleId(int courseId, String moduleName) {
+        return lookup(moduleIds.get(courseId), moduleName);
+    }
+
+    public Course course(int courseId) {
+        return courses.get(courseId);
+    }
+
+    // The shared spelling of a course name, or null when it is not in the catalogue.
+    public String courseName(String courseName) {
+        int course = courseId(courseName);
+        return course < 0 ? null : courses.get(course).getName();
+    }
+
+    public String moduleName(String courseName, String moduleName) {
+        int course = courseId(courseName);
+        int module = course < 0 ? -1 : moduleId(course, moduleName);
+        return module < 0 ? null : modules[course][module][0].getName();
+    }
+
+    public Module module(int courseId, int moduleId, int grade) {
+        Module[] grades = modules[courseId][moduleId];
+        return grade >= 0 && grade <= MAX_GRADE ? grades[grade] : new Module(grades[0].getName(), grade);
+    }
+
+    public Module module(String courseName, String moduleName, int grade) {
+        int course = courseId(courseName);
+        int module = course < 0 ? -1 : moduleId(course, moduleName);
+        return module < 0 ? new Module(moduleName, grade) : module(course, module, grade);
+    }
+
+    // Rebuilds a course from loaded or entered data on top of the shared names and modules where it can.
+    public Course course(String courseName, List<Module> courseModules) {
+        int course = courseId(courseName);
+        if (course < 0) {
+            return new Course(courseName, courseModules);
+        }
+        return new Course(courses.get(course).getName(), moduleList(course, courseModules));
+    }
+
+    private List<Module> moduleList(int course, List<Module> courseModules) {
+        Module[] shared = new Module[courseModules.size()];
+        for (int i = 0; i < shared.length; i++) {
+            Module module = courseModules.get(i);
+            int id = moduleId(course, module.getName());
+            shared[i] = id < 0 ? module : module(course, id, module.grade());
+        }
+        return List.of(shared);
+    }
+}
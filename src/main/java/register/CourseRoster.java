@@ -0,0 +1,538 @@
+package register;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+// Per-course listings ordered by grade and by surname, plus course-wide grade totals. Rosters are concurrent
+// skip lists, so writers on the same course do not queue behind one lock; callers only need to keep each
+// student's own changes in order. Pages and summaries are consistent snapshots of their course: each shows the
+// roster between two changes, never a student halfway through a move. A later page resumes from its key in
+// whatever the roster holds by then.
+class CourseRoster {
+    // keyed by lower-case course name; spellings maps each course name seen on a student straight to its roster
+    private final Map<String, Roster> rosters = new ConcurrentHashMap<>();
+    private final Map<String, Roster> spellings = new ConcurrentHashMap<>();
+    // null when the entries hold their students, as they do for the concurrent register
+    private final IntFunction<Student> students;
+
+    CourseRoster() {
+        this(null);
+    }
+
+    // Entries hold only the student number and listing keys, and listed students are looked up here, so the
+    // rosters keep no students alive, e.g. over a GradeStore that builds them on demand. Replacing a student
+    // then has to go through move, as its entries no longer say which grades to take off the totals.
+    CourseRoster(IntFunction<Student> students) {
+        this.students = students;
+    }
+
+    public void add(Student student) {
+        student.enrolledCourses().forEach(course -> add(student, course));
+    }
+
+    // Adds the student to the course, or replaces its entry if it is already there.
+    public void add(Student student, Course course) {
+        writable(course.getName()).add(entry(student, course), course, null);
+    }
+
+    // Bulk add for loading or generating a register: each course's new entries are sorted once per listing
+    // and then appended in order, with the courses built in parallel.
+    public void addAll(Collection<Student> added) {
+        Map<Roster, List<Enrolment>> enrolments = new HashMap<>();
+        for (Student student : added) {
+            for (Course course : student.enrolledCourses()) {
+                enrolments.computeIfAbsent(writable(course.getName()), roster -> new ArrayList<>())
+                        .add(new Enrolment(entry(student, course), course));
+            }
+        }
+        enrolments.entrySet().parallelStream().forEach(batch -> batch.getKey().addAll(batch.getValue()));
+    }
+
+    private RosterEntry entry(Student student, Course course) {
+        return new RosterEntry(course.calculateAverageGrade(), student.studentNumber(), student.getSurname(),
+                students == null ? student : null);
+    }
+
+    private Roster writable(String courseName) {
+        Roster roster = spellings.get(courseName);
+        if (roster == null) {
+            roster = rosters.computeIfAbsent(courseName.toLowerCase(), k -> new Roster());
+            spellings.putIfAbsent(courseName, roster);
+        }
+        return roster;
+    }
+
+    public void remove(Student student) {
+        student.enrolledCourses().forEach(course -> remove(student, course));
+    }
+
+    public void remove(Student student, Course course) {
+        roster(course.getName()).remove(student.studentNumber(), course);
+    }
+
+    // Moves a student from its previous state to its updated one; either may be null for an add or a removal.
+    public void move(Student previous, Student updated) {
+        if (previous != null) {
+            for (Course course : previous.enrolledCourses()) {
+                if (updated == null || enrolment(updated, course.getName()) == null) {
+                    remove(previous, course);
+                }
+            }
+        }
+        if (updated != null) {
+            for (Course course : updated.enrolledCourses()) {
+                Course previousCourse = previous == null ? null : enrolment(previous, course.getName());
+                writable(course.getName()).add(entry(updated, course), course, previousCourse);
+            }
+        }
+    }
+
+    private static Course enrolment(Student student, String courseName) {
+        for (Course course : student.enrolledCourses()) {
+            if (course.getName() == courseName || course.getName().equalsIgnoreCase(courseName)) {
+                return course;
+            }
+        }
+        return null;
+    }
+
+    // rosters stay once created, so a concurrent add never lands in one that was just dropped
+    public Map<String, Integer> sizes() {
+        Map<String, Integer> sizes = new TreeMap<>();
+        rosters.forEach((courseName, roster) -> {
+            if (roster.size() > 0) {
+                sizes.put(courseName, roster.size());
+            }
+        });
+        return sizes;
+    }
+
+    public int size(String courseName) {
+        return roster(courseName).size();
+    }
+
+    // Every module grade on the course across the register, kept up to date as students change.
+    public GradeSummary summary(String courseName) {
+        return roster(courseName).summary();
+    }
+
+    enum Order {
+        ALPHABETICAL, LOWEST_GRADE, HIGHEST_GRADE
+    }
+
+    // The last student handed out by a listing. A later page seeks straight past it in the roster's trees,
+    // so resuming costs O(log n) however far into the listing it is, and still works after students change.
+    record ListingKey(int studentNumber, double average, String surname) {
+        static ListingKey of(RosterEntry entry) {
+            return new ListingKey(entry.studentNumber(), entry.average(), entry.surname());
+        }
+
+        // "studentNumber:average:surname", for clients that hand the key back, e.g. over HTTP
+        static ListingKey parse(String token) {
+            String[] parts = token.split(":", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Not a listing key: " + token);
+            }
+            return new ListingKey(Integer.parseInt(parts[0]), Double.parseDouble(parts[1]), parts[2]);
+        }
+
+        public String token() {
+            return studentNumber + ":" + average + ":" + surname;
+        }
+
+        RosterEntry probe() {
+            return new RosterEntry(average, studentNumber, surname, null);
+        }
+    }
+
+    // A student as listed on a course, with the course average it is ranked by, so writing a row out does
+    // not look the course up on the student again.
+    record Listed(Student student, double average) {
+    }
+
+    // One page of a listing, with the key to continue from or null once the listing is exhausted.
+    record Page(List<Listed> entries, ListingKey next) {
+        public List<Student> students() {
+            return entries.stream().map(Listed::student).toList();
+        }
+    }
+
+    // Walks the roster lazily from just after the key (or from the start when it is null), so a page costs
+    // O(log n + offset + limit) and never sorts or copies the roster.
+    public Page page(String courseName, Order order, ListingKey after, int offset, int limit) {
+        Roster roster = roster(courseName);
+        return roster.read(() -> {
+            Iterator<RosterEntry> entries = roster.entries(order, after);
+            for (int skipped = 0; skipped < offset && entries.hasNext(); skipped++) {
+                entries.next();
+            }
+            List<Listed> listed = new ArrayList<>(Math.min(limit, roster.size()));
+            RosterEntry last = null;
+            while (listed.size() < limit && entries.hasNext()) {
+                last = entries.next();
+                listed.add(listed(last));
+            }
+            return new Page(listed, last != null && entries.hasNext() ? ListingKey.of(last) : null);
+        });
+    }
+
+    // The whole listing as a lazy view over the roster, for writing it out without building a list. Unlike a
+    // page it is not a snapshot: one walked alongside a regrade may see the student at its old place, its new
+    // place, or miss it while it moves, so the concurrent register only hands out pages.
+    public Iterable<Listed> listing(String courseName, Order order) {
+        Roster roster = roster(courseName);
+        return () -> {
+            Iterator<RosterEntry> entries = roster.entries(order, null);
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Listed next() {
+                    return listed(entries.next());
+                }
+            };
+        };
+    }
+
+    public List<Student> alphabetical(String courseName, int limit) {
+        return page(courseName, Order.ALPHABETICAL, null, 0, limit).students();
+    }
+
+    public List<Student> byLowestGrade(String courseName, int limit) {
+        return page(courseName, Order.LOWEST_GRADE, null, 0, limit).students();
+    }
+
+    public List<Student> byHighestGrade(String courseName, int limit) {
+        return page(courseName, Order.HIGHEST_GRADE, null, 0, limit).students();
+    }
+
+    private Listed listed(RosterEntry entry) {
+        Student student = entry.student() != null ? entry.student() : students.apply(entry.studentNumber());
+        return new Listed(student, entry.average());
+    }
+
+    private Roster roster(String courseName) {
+        Roster roster = spellings.get(courseName);
+        return roster != null ? roster : rosters.getOrDefault(courseName.toLowerCase(), Roster.EMPTY);
+    }
+
+    // The student is null when the roster looks students up by number.
+    private record RosterEntry(double average, int studentNumber, String surname, Student student) {
+        // written out rather than chained, as every skip list step runs them; surnames are mostly shared
+        // instances, so equal ones are usually told apart without comparing characters
+        static final Comparator<RosterEntry> ORDER = (a, b) -> {
+            int byAverage = Double.compare(a.average(), b.average());
+            return byAverage != 0 ? byAverage : Integer.compare(a.studentNumber(), b.studentNumber());
+        };
+        static final Comparator<RosterEntry> BY_NUMBER = Comparator.comparingInt(RosterEntry::studentNumber);
+        static final Comparator<RosterEntry> BY_SURNAME = (a, b) -> {
+            String surname = a.surname();
+            String other = b.surname();
+            int bySurname = surname == other ? 0 : surname.compareTo(other);
+            return bySurname != 0 ? bySurname : Integer.compare(a.studentNumber(), b.studentNumber());
+        };
+
+        static RosterEntry first(double average) {
+            return new RosterEntry(average, Integer.MIN_VALUE, null, null);
+        }
+
+        static RosterEntry last(double average) {
+            return new RosterEntry(average, Integer.MAX_VALUE, null, null);
+        }
+    }
+
+    private record Enrolment(RosterEntry entry, Course course) {
+    }
+
+    // The sets order entries by key only: (average, number) and (surname, number). The entry a student is
+    // listed with is always the current one in entries, so a regrade that keeps both keys leaves the sets alone.
+    //
+    // Snapshots are seqlock-style: each change bumps started before it touches the roster and finished after,
+    // and a read that saw them equal before and unchanged after ran between two changes. Changes share the
+    // read side of the lock, so they still run side by side; a read that keeps overlapping them takes the write
+    // side, which waits for the changes in flight and holds new ones off until it is done.
+    private static class Roster {
+        static final Roster EMPTY = new Roster();
+        private static final int MAX_GRADE = 100;
+        private static final int OPTIMISTIC_READS = 2;
+
+        private final ReadWriteLock changes = new ReentrantReadWriteLock();
+        private final AtomicLong started = new AtomicLong();
+        private final AtomicLong finished = new AtomicLong();
+
+        final Map<Integer, RosterEntry> entries = new ConcurrentHashMap<>();
+        final NavigableSet<RosterEntry> byGrade = new ConcurrentSkipListSet<>(RosterEntry.ORDER);
+        final NavigableSet<RosterEntry> bySurname = new ConcurrentSkipListSet<>(RosterEntry.BY_SURNAME);
+
+        // module grades on the course by value; grades are entered as 0-100, anything outside is counted
+        // in the nearest bucket as GradeAnalytics does
+        final AtomicIntegerArray gradeCounts = new AtomicIntegerArray(MAX_GRADE + 1);
+        final LongAdder gradeSum = new LongAdder();
+        final LongAdder gradeCount = new LongAdder();
+
+        int size() {
+            return entries.size();
+        }
+
+        <T> T read(Supplier<T> read) {
+            for (int attempt = 0; attempt < OPTIMISTIC_READS; attempt++) {
+                long stamp = finished.get();
+                if (started.get() == stamp) {
+                    T result = read.get();
+                    if (started.get() == stamp) {
+                        return result;
+                    }
+                }
+            }
+            changes.writeLock().lock();
+            try {
+                return read.get();
+            } finally {
+                changes.writeLock().unlock();
+            }
+        }
+
+        private void change(Runnable change) {
+            changes.readLock().lock();
+            started.incrementAndGet();
+            try {
+                change.run();
+            } finally {
+                finished.incrementAndGet();
+                changes.readLock().unlock();
+            }
+        }
+
+        GradeSummary summary() {
+            return read(this::currentSummary);
+        }
+
+        private GradeSummary currentSummary() {
+            int count = gradeCount.intValue();
+            if (count <= 0) {
+                return GradeSummary.EMPTY;
+            }
+            int min = 0;
+            while (min < MAX_GRADE && gradeCounts.get(min) <= 0) {
+                min++;
+            }
+            int max = MAX_GRADE;
+            while (max > min && gradeCounts.get(max) <= 0) {
+                max--;
+            }
+            return new GradeSummary(count, gradeSum.sum(), min, max);
+        }
+
+        Iterator<RosterEntry> entries(Order order, ListingKey after) {
+            return switch (order) {
+                case ALPHABETICAL -> new Current((after == null ? bySurname : bySurname.tailSet(after.probe(), false)).iterator(),
+                        RosterEntry.BY_SURNAME);
+                case LOWEST_GRADE -> new Current((after == null ? byGrade : byGrade.tailSet(after.probe(), false)).iterator(),
+                        RosterEntry.ORDER);
+                case HIGHEST_GRADE -> new Current(new HighestFirst(after), RosterEntry.ORDER);
+            };
+        }
+
+        // The new entry goes into each set before the old one comes out, and only where its key has changed.
+        // The grades taken off the totals for a replaced entry are previousCourse's, or else those its own
+        // student holds for this course.
+        void add(RosterEntry entry, Course course, Course previousCourse) {
+            change(() -> replace(entry, course, previousCourse));
+        }
+
+        private void replace(RosterEntry entry, Course course, Course previousCourse) {
+            RosterEntry current = entries.get(entry.studentNumber());
+            if (current != null && previousCourse == null) {
+                if (current.student() == null) {
+                    throw new IllegalStateException("Student " + entry.studentNumber()
+                            + " is already on the roster; move it from its previous state instead.");
+                }
+                previousCourse = enrolment(current.student(), course.getName());
+            }
+            RosterEntry previous = entries.put(entry.studentNumber(), entry);
+            place(byGrade, RosterEntry.ORDER, previous, entry);
+            place(bySurname, RosterEntry.BY_SURNAME, previous, entry);
+            if (previous != null) {
+                count(previousCourse, -1);
+            }
+            count(course, 1);
+        }
+
+        // Students already on the roster are replaced one by one; the rest go into each listing in its order,
+        // so every insert lands next to the one before it.
+        void addAll(List<Enrolment> added) {
+            change(() -> append(added));
+        }
+
+        private void append(List<Enrolment> added) {
+            List<RosterEntry> fresh = new ArrayList<>(added.size());
+            int[] counts = new int[MAX_GRADE + 1];
+            long sum = 0;
+            int count = 0;
+            for (Enrolment enrolment : added) {
+                RosterEntry entry = enrolment.entry();
+                if (entries.containsKey(entry.studentNumber())) {
+                    replace(entry, enrolment.course(), null);
+                    continue;
+                }
+                entries.put(entry.studentNumber(), entry);
+                fresh.add(entry);
+                for (Module module : enrolment.course().modules()) {
+                    counts[Math.max(0, Math.min(MAX_GRADE, module.grade()))]++;
+                    sum += module.grade();
+                    count++;
+                }
+            }
+            for (int grade = 0; grade <= MAX_GRADE; grade++) {
+                if (counts[grade] != 0) {
+                    gradeCounts.addAndGet(grade, counts[grade]);
+                }
+            }
+            gradeSum.add(sum);
+            gradeCount.add(count);
+            // a sort of entries already in number order only checks that they are
+            fresh.sort(RosterEntry.BY_NUMBER);
+            bySurname.addAll(bySurname(fresh));
+            fresh.sort(RosterEntry.ORDER);
+            byGrade.addAll(fresh);
+        }
+
+        // Surnames repeat across thousands of students, so entries are bucketed by surname in one pass and
+        // only the distinct surnames are sorted; each bucket keeps the number order it was filled in.
+        private static List<RosterEntry> bySurname(List<RosterEntry> byNumber) {
+            Map<String, List<RosterEntry>> buckets = new HashMap<>();
+            for (RosterEntry entry : byNumber) {
+                buckets.computeIfAbsent(entry.surname(), surname -> new ArrayList<>()).add(entry);
+            }
+            List<String> surnames = new ArrayList<>(buckets.keySet());
+            Collections.sort(surnames);
+            List<RosterEntry> sorted = new ArrayList<>(byNumber.size());
+            surnames.forEach(surname -> sorted.addAll(buckets.get(surname)));
+            return sorted;
+        }
+
+        // course holds the grades the student was counted with
+        void remove(int studentNumber, Course course) {
+            change(() -> {
+                RosterEntry entry = entries.remove(studentNumber);
+                if (entry != null) {
+                    byGrade.remove(entry);
+                    bySurname.remove(entry);
+                    count(course, -1);
+                }
+            });
+        }
+
+        private static void place(NavigableSet<RosterEntry> set, Comparator<RosterEntry> order,
+                                  RosterEntry previous, RosterEntry entry) {
+            if (previous == null) {
+                set.add(entry);
+            } else if (order.compare(previous, entry) != 0) {
+                set.add(entry);
+                set.remove(previous);
+            }
+        }
+
+        private void count(Course course, int change) {
+            gradeSum.add(change * course.summary().sum());
+            gradeCount.add(change * course.summary().count());
+            for (Module module : course.modules()) {
+                gradeCounts.addAndGet(Math.max(0, Math.min(MAX_GRADE, module.grade())), change);
+            }
+        }
+
+        // Swaps each set element for the student's current entry, which holds the student as last changed.
+        // Outside a snapshot it also skips elements a regrade has moved away from but not yet removed.
+        private class Current implements Iterator<RosterEntry> {
+            private final Iterator<RosterEntry> placed;
+            private final Comparator<RosterEntry> order;
+            private RosterEntry next;
+
+            Current(Iterator<RosterEntry> placed, Comparator<RosterEntry> order) {
+                this.placed = placed;
+                this.order = order;
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && placed.hasNext()) {
+                    RosterEntry element = placed.next();
+                    RosterEntry current = entries.get(element.studentNumber());
+                    if (current != null && order.compare(current, element) == 0) {
+                        next = current;
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public RosterEntry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                RosterEntry current = next;
+                next = null;
+                return current;
+            }
+        }
+
+        // Walks the averages downwards but keeps students on the same average in student number order,
+        // one average at a time.
+        private class HighestFirst implements Iterator<RosterEntry> {
+            private RosterEntry groupStart;
+            private Iterator<RosterEntry> group;
+
+            HighestFirst(ListingKey after) {
+                if (after == null) {
+                    groupStart = RosterEntry.first(Double.POSITIVE_INFINITY);
+                    group = Collections.emptyIterator();
+                } else {
+                    groupStart = RosterEntry.first(after.average());
+                    group = byGrade.subSet(after.probe(), false, RosterEntry.last(after.average()), true).iterator();
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (!group.hasNext()) {
+                    RosterEntry lower = byGrade.lower(groupStart);
+                    if (lower == null) {
+                        return false;
+                    }
+                    groupStart = RosterEntry.first(lower.average());
+                    group = byGrade.subSet(groupStart, true, lower, true).iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public RosterEntry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return group.next();
+            }
+        }
+    }
+}
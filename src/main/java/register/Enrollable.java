@@ -0,0 +1,5 @@
+package register;
+
+interface Enrollable {
+    String getName();
+}
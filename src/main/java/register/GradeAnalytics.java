@@ -0,0 +1,142 @@
+package register;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.RecursiveTask;
+
+// Grade distributions for every course and every course module, worked out in one fork/join pass over the
+// register. Each task fills primitive 0-100 histograms and bounded top-K heaps that are merged on the way up.
+class GradeAnalytics {
+    private static final int SPLIT_THRESHOLD = 8_192;
+    private static final int MAX_GRADE = 100;
+
+    public record Report(Map<String, GradeStatistics> courses, Map<String, GradeStatistics> modules) {
+    }
+
+    // topK must not be negative; it is checked up front as courses only build their top-K heaps on first use
+    public static Report analyse(List<Student> students, int topK) {
+        if (topK < 0) {
+            throw new IllegalArgumentException("Cannot keep the top " + topK + " students.");
+        }
+        Totals totals = new Pass(students, 0, students.size(), topK).invoke();
+        return new Report(statistics(totals.courses()), statistics(totals.modulesByName()));
+    }
+
+    private static Map<String, GradeStatistics> statistics(Map<String, Accumulator> accumulators) {
+        Map<String, GradeStatistics> statistics = new TreeMap<>();
+        accumulators.forEach((name, accumulator) -> statistics.put(name, accumulator.statistics(name)));
+        return statistics;
+    }
+
+    private static class Accumulator {
+        final long[] histogram = new long[MAX_GRADE + 1];
+        final TopK top;
+        long count;
+        long sum;
+        long sumOfSquares;
+        long passed;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+
+        Accumulator(int topK) {
+            top = new TopK(topK);
+        }
+
+        void add(int grade) {
+            // grades are entered as 0-100; anything outside is counted in the nearest bucket
+            histogram[Math.max(0, Math.min(MAX_GRADE, grade))]++;
+            count++;
+            sum += grade;
+            sumOfSquares += (long) grade * grade;
+            if (grade >= GradeStatistics.PASS_MARK) {
+                passed++;
+            }
+            min = Math.min(min, grade);
+            max = Math.max(max, grade);
+        }
+
+        Accumulator merge(Accumulator other) {
+            for (int grade = 0; grade <= MAX_GRADE; grade++) {
+                histogram[grade] += other.histogram[grade];
+            }
+            count += other.count;
+            sum += other.sum;
+            sumOfSquares += other.sumOfSquares;
+            passed += other.passed;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            top.merge(other.top);
+            return this;
+        }
+
+        GradeStatistics statistics(String name) {
+            double mean = count == 0 ? 0.0 : (double) sum / count;
+            double variance = count == 0 ? 0.0 : Math.max(0.0, (double) sumOfSquares / count - mean * mean);
+            return new GradeStatistics(name, count, mean, Math.sqrt(variance), count == 0 ? 0 : min, count == 0 ? 0 : max,
+                    count == 0 ? 0.0 : (double) passed / count, histogram, top.ranked());
+        }
+    }
+
+    // module accumulators are keyed by course then module so the hot loop never builds a key string
+    private record Totals(Map<String, Accumulator> courses, Map<String, Map<String, Accumulator>> modules) {
+        Totals merge(Totals other) {
+            other.courses.forEach((name, accumulator) -> courses.merge(name, accumulator, Accumulator::merge));
+            other.modules.forEach((courseName, courseModules) -> courseModules.forEach((name, accumulator) -> modules
+                    .computeIfAbsent(courseName, k -> new HashMap<>())
+                    .merge(name, accumulator, Accumulator::merge)));
+            return this;
+        }
+
+        Map<String, Accumulator> modulesByName() {
+            Map<String, Accumulator> byName = new HashMap<>();
+            modules.forEach((courseName, courseModules) -> courseModules
+                    .forEach((name, accumulator) -> byName.put(courseName + " / " + name, accumulator)));
+            return byName;
+        }
+    }
+
+    private static class Pass extends RecursiveTask<Totals> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Student> students;
+        private final int from;
+        private final int to;
+        private final int topK;
+
+        Pass(List<Student> students, int from, int to, int topK) {
+            this.students = students;
+            this.from = from;
+            this.to = to;
+            this.topK = topK;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                Pass left = new Pass(students, from, middle, topK);
+                left.fork();
+                Totals right = new Pass(students, middle, to, topK).compute();
+                return left.join().merge(right);
+            }
+            Totals totals = new Totals(new HashMap<>(), new HashMap<>());
+            for (int i = from; i < to; i++) {
+                Student student = students.get(i);
+                for (Course course : student.enrolledCourses()) {
+                    Accumulator courseTotals = totals.courses().computeIfAbsent(course.getName(), k -> new Accumulator(topK));
+                    Map<String, Accumulator> courseModules = totals.modules().computeIfAbsent(course.getName(), k -> new HashMap<>());
+                    courseTotals.top.offer(course.calculateAverageGrade(), student.studentNumber());
+                    for (Module module : course.modules()) {
+                        courseTotals.add(module.grade());
+                        Accumulator moduleTotals = courseModules.computeIfAbsent(module.getName(), k -> new Accumulator(topK));
+                        moduleTotals.add(module.grade());
+                        moduleTotals.top.offer(module.grade(), student.studentNumber());
+                    }
+                }
+            }
+            return totals;
+        }
+    }
+}
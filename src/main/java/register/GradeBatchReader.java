@@ -0,0 +1,96 @@
+package register;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Streams "studentNumber,course,module,grade" lines and hands them back grouped by student, so a batch
+// costs one update per student however many of their grades it carries. Blank lines and lines starting
+// with '#' are skipped; malformed lines are counted and reported.
+class GradeBatchReader implements AutoCloseable {
+    private static final int MAX_REPORTED = 20;
+
+    private final BufferedReader reader;
+    private long lineNumber;
+    private long rejectedLines;
+    private final List<String> problems = new ArrayList<>();
+
+    GradeBatchReader(Path path) throws IOException {
+        reader = new BufferedReader(Files.newBufferedReader(path, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    public long rejectedLines() {
+        return rejectedLines;
+    }
+
+    public List<String> problems() {
+        return Collections.unmodifiableList(problems);
+    }
+
+    public void reject(String problem) {
+        rejectedLines++;
+        if (problems.size() < MAX_REPORTED) {
+            problems.add(problem);
+        }
+    }
+
+    // Returns the next group of up to maxLines grade updates keyed by student number, or an empty map at the end.
+    public Map<Integer, List<GradeUpdate>> nextBatch(int maxLines) throws IOException {
+        Map<Integer, List<GradeUpdate>> batch = new LinkedHashMap<>();
+        int lines = 0;
+        String line;
+        while (lines < maxLines && (line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.charAt(0) == '#') {
+                continue;
+            }
+            int first = line.indexOf(',');
+            int second = first < 0 ? -1 : line.indexOf(',', first + 1);
+            int third = second < 0 ? -1 : line.indexOf(',', second + 1);
+            int studentNumber = third < 0 ? -1 : parseNumber(line, 0, first);
+            int grade = third < 0 ? -1 : parseNumber(line, third + 1, line.length());
+            if (studentNumber <= 0 || grade < 0 || grade > 100) {
+                reject("Line " + lineNumber + ": expected studentNumber,course,module,grade (0-100) but got \"" + line + "\"");
+                continue;
+            }
+            batch.computeIfAbsent(studentNumber, k -> new ArrayList<>())
+                    .add(new GradeUpdate(line.substring(first + 1, second).trim(), line.substring(second + 1, third).trim(), grade));
+            lines++;
+        }
+        return batch;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Parses a non-negative int from line[from, to) ignoring surrounding spaces, or returns -1.
+    private static int parseNumber(String line, int from, int to) {
+        while (from < to && line.charAt(from) == ' ') {
+            from++;
+        }
+        while (to > from && line.charAt(to - 1) == ' ') {
+            to--;
+        }
+        if (from == to || to - from > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,36 @@
+package register;
+
+import java.util.List;
+
+record GradeStatistics(String name, long count, double mean, double standardDeviation, int min, int max,
+                       double passRate, long[] histogram, List<RankedStudent> top) {
+    static final int PASS_MARK = 40;
+
+    // the histogram is copied in and out, so neither the analysis that built it nor a reader can change it
+    GradeStatistics {
+        histogram = histogram.clone();
+        top = List.copyOf(top);
+    }
+
+    @Override
+    public long[] histogram() {
+        return histogram.clone();
+    }
+
+    // Nearest-rank percentile read off the 0-100 histogram.
+    public int percentile(double percent) {
+        long rank = Math.max(1, (long) Math.ceil(percent / 100 * count));
+        long seen = 0;
+        for (int grade = 0; grade < histogram.length; grade++) {
+            seen += histogram[grade];
+            if (seen >= rank) {
+                return grade;
+            }
+        }
+        return max;
+    }
+
+    public int median() {
+        return percentile(50);
+    }
+}
@@ -0,0 +1,272 @@
+package register;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// Column-wise student storage: one primitive array per field instead of a Student/Course/Module object graph,
+// with names, courses and modules as ids into shared dictionaries. Rows are indexed by student number like
+// StudentStore's slots, and students are built on demand, so only the ones a caller touches become objects.
+// Enrolments and grades are appended; a replaced or removed student's entries stay behind until the columns
+// are compacted, once the dead entries outnumber the live ones.
+class GradeStore extends AbstractCollection<Student> implements StudentTable {
+    private static final int FREE = -1;
+    private static final int MIN_COMPACTION = 1 << 12;
+
+    private final NameDictionary people = new NameDictionary();
+    private final NameDictionary courses = new NameDictionary();
+    private final NameDictionary modules = new NameDictionary();
+
+    // one row per student number from base; a FREE first name marks a row with no student
+    private int base = 1;
+    private int end;
+    private int size;
+    private int[] firstNames = free(new int[16]);
+    private int[] surnames = new int[16];
+    private int[] courseStart = new int[16];
+    private byte[] courseCount = new byte[16];
+
+    private int enrolments;
+    private short[] courseIds = new short[16];
+    private int[] moduleStart = new int[16];
+    private byte[] moduleCount = new byte[16];
+
+    private int grades;
+    private int liveGrades;
+    private short[] moduleIds = new short[16];
+    private byte[] gradeValues = new byte[16];
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Student get(int studentNumber) {
+        int row = row(studentNumber);
+        return row < 0 ? null : student(row);
+    }
+
+    @Override
+    public Student put(Student student) {
+        // checked before anything is written, so a student that cannot be stored leaves the store as it was
+        check(student);
+        int row = rowFor(student.studentNumber());
+        Student previous = firstNames[row] == FREE ? null : student(row);
+        if (previous == null) {
+            size++;
+        } else {
+            liveGrades -= gradeCount(row);
+        }
+        firstNames[row] = people.intern(student.firstName());
+        surnames[row] = people.intern(student.surname());
+        courseStart[row] = enrolments;
+        courseCount[row] = (byte) student.enrolledCourses().size();
+        for (Course course : student.enrolledCourses()) {
+            addEnrolment(course);
+        }
+        liveGrades += gradeCount(row);
+        end = Math.max(end, row + 1);
+        compactIfNeeded();
+        return previous;
+    }
+
+    @Override
+    public Student remove(int studentNumber) {
+        int row = row(studentNumber);
+        if (row < 0) {
+            return null;
+        }
+        Student removed = student(row);
+        liveGrades -= gradeCount(row);
+        firstNames[row] = FREE;
+        size--;
+        compactIfNeeded();
+        return removed;
+    }
+
+    @Override
+    public Iterator<Student> iterator() {
+        return new Iterator<>() {
+            private int next = advance(0);
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public Student next() {
+                if (next >= end) {
+                    throw new NoSuchElementException();
+                }
+                Student student = student(next);
+                next = advance(next + 1);
+                return student;
+            }
+
+            private int advance(int row) {
+                while (row < end && firstNames[row] == FREE) {
+                    row++;
+                }
+                return row;
+            }
+        };
+    }
+
+    private int row(int studentNumber) {
+        long row = (long) studentNumber - base;
+        return row < 0 || row >= end || firstNames[(int) row] == FREE ? -1 : (int) row;
+    }
+
+    private Student student(int row) {
+        Course[] enrolledCourses = new Course[courseCount[row]];
+        for (int c = 0; c < enrolledCourses.length; c++) {
+            int enrolment = courseStart[row] + c;
+            Module[] courseModules = new Module[moduleCount[enrolment]];
+            for (int m = 0; m < courseModules.length; m++) {
+                int grade = moduleStart[enrolment] + m;
+                courseModules[m] = new Module(modules.name(moduleIds[grade]), Byte.toUnsignedInt(gradeValues[grade]));
+            }
+            enrolledCourses[c] = CourseCatalogue.STANDARD.course(courses.name(courseIds[enrolment]), List.of(courseModules));
+        }
+        return new Student(base + row, people.name(firstNames[row]), people.name(surnames[row]), List.of(enrolledCourses));
+    }
+
+    private int gradeCount(int row) {
+        int count = 0;
+        for (int enrolment = courseStart[row]; enrolment < courseStart[row] + courseCount[row]; enrolment++) {
+            count += moduleCount[enrolment];
+        }
+        return count;
+    }
+
+    private void check(Student student) {
+        if (student.enrolledCourses().size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Student " + student.studentNumber() + " has too many courses to store.");
+        }
+        for (Course course : student.enrolledCourses()) {
+            if (course.modules().size() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Course " + course.getName() + " has too many modules to store.");
+            }
+            for (Module module : course.modules()) {
+                if (module.grade() < 0 || module.grade() > 255) {
+                    throw new IllegalArgumentException("Grade " + module.grade() + " cannot be stored.");
+                }
+            }
+        }
+    }
+
+    private void addEnrolment(Course course) {
+        if (enrolments == courseIds.length) {
+            int capacity = enrolments * 2;
+            courseIds = Arrays.copyOf(courseIds, capacity);
+            moduleStart = Arrays.copyOf(moduleStart, capacity);
+            moduleCount = Arrays.copyOf(moduleCount, capacity);
+        }
+        courseIds[enrolments] = shortId(courses, course.getName());
+        moduleStart[enrolments] = grades;
+        moduleCount[enrolments] = (byte) course.modules().size();
+        enrolments++;
+        for (Module module : course.modules()) {
+            if (grades == gradeValues.length) {
+                moduleIds = Arrays.copyOf(moduleIds, grades * 2);
+                gradeValues = Arrays.copyOf(gradeValues, grades * 2);
+            }
+            moduleIds[grades] = shortId(modules, module.getName());
+            gradeValues[grades++] = (byte) module.grade();
+        }
+    }
+
+    private static short shortId(NameDictionary dictionary, String name) {
+        int id = dictionary.intern(name);
+        if (id > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many distinct names to store: " + name);
+        }
+        return (short) id;
+    }
+
+    // Rewrites the enrolment and grade columns with only the live rows' entries, in row order.
+    private void compactIfNeeded() {
+        if (grades < MIN_COMPACTION || grades - liveGrades <= liveGrades) {
+            return;
+        }
+        short[] oldCourseIds = courseIds;
+        int[] oldModuleStart = moduleStart;
+        byte[] oldModuleCount = moduleCount;
+        short[] oldModuleIds = moduleIds;
+        byte[] oldGradeValues = gradeValues;
+        courseIds = new short[Math.max(16, oldCourseIds.length / 2)];
+        moduleStart = new int[courseIds.length];
+        moduleCount = new byte[courseIds.length];
+        moduleIds = new short[Math.max(16, liveGrades * 2)];
+        gradeValues = new byte[moduleIds.length];
+        enrolments = 0;
+        grades = 0;
+        for (int row = 0; row < end; row++) {
+            if (firstNames[row] == FREE) {
+                continue;
+            }
+            int first = courseStart[row];
+            courseStart[row] = enrolments;
+            for (int enrolment = first; enrolment < first + courseCount[row]; enrolment++) {
+                if (enrolments == courseIds.length) {
+                    courseIds = Arrays.copyOf(courseIds, enrolments * 2);
+                    moduleStart = Arrays.copyOf(moduleStart, enrolments * 2);
+                    moduleCount = Arrays.copyOf(moduleCount, enrolments * 2);
+                }
+                courseIds[enrolments] = oldCourseIds[enrolment];
+                moduleStart[enrolments] = grades;
+                moduleCount[enrolments] = oldModuleCount[enrolment];
+                enrolments++;
+                System.arraycopy(oldModuleIds, oldModuleStart[enrolment], moduleIds, grades, oldModuleCount[enrolment]);
+                System.arraycopy(oldGradeValues, oldModuleStart[enrolment], gradeValues, grades, oldModuleCount[enrolment]);
+                grades += oldModuleCount[enrolment];
+            }
+        }
+    }
+
+    private int rowFor(int studentNumber) {
+        if (size == 0) {
+            free(firstNames);
+            base = studentNumber;
+            end = 0;
+        } else if (studentNumber < base) {
+            // numbers older than the window only arrive when loading out of order; widen the rows downwards
+            int shift = base - studentNumber;
+            resizeRows(Math.max(firstNames.length, end + shift), shift);
+            base = studentNumber;
+            end += shift;
+        }
+        long row = (long) studentNumber - base;
+        if (row >= firstNames.length) {
+            if (row >= Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Student number " + studentNumber + " is too far from " + base + ".");
+            }
+            resizeRows((int) Math.min(Integer.MAX_VALUE - 8, Math.max(row + 1, 2L * firstNames.length)), 0);
+        }
+        return (int) row;
+    }
+
+    private void resizeRows(int capacity, int shift) {
+        int[] widenedFirstNames = free(new int[capacity]);
+        int[] widenedSurnames = new int[capacity];
+        int[] widenedCourseStart = new int[capacity];
+        byte[] widenedCourseCount = new byte[capacity];
+        System.arraycopy(firstNames, 0, widenedFirstNames, shift, end);
+        System.arraycopy(surnames, 0, widenedSurnames, shift, end);
+        System.arraycopy(courseStart, 0, widenedCourseStart, shift, end);
+        System.arraycopy(courseCount, 0, widenedCourseCount, shift, end);
+        firstNames = widenedFirstNames;
+        surnames = widenedSurnames;
+        courseStart = widenedCourseStart;
+        courseCount = widenedCourseCount;
+    }
+
+    private static int[] free(int[] rows) {
+        Arrays.fill(rows, FREE);
+        return rows;
+    }
+}
@@ -0,0 +1,26 @@
+package register;
+
+import java.util.List;
+
+record GradeSummary(int count, long sum, int min, int max) {
+    static final GradeSummary EMPTY = new GradeSummary(0, 0, 0, 0);
+
+    static GradeSummary of(List<Module> modules) {
+        if (modules.isEmpty()) {
+            return EMPTY;
+        }
+        long sum = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (Module module : modules) {
+            sum += module.grade();
+            min = Math.min(min, module.grade());
+            max = Math.max(max, module.grade());
+        }
+        return new GradeSummary(modules.size(), sum, min, max);
+    }
+
+    public double average() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+}
@@ -0,0 +1,4 @@
+package register;
+
+record GradeUpdate(String courseName, String moduleName, int grade) {
+}
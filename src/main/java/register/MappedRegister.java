@@ -0,0 +1,72 @@
+package register;
+
+import java.nio.MappedByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+// Read-only view over a mapped register file; a student is only decoded when it is fetched.
+class MappedRegister extends AbstractList<Student> {
+    private final MappedByteBuffer buffer;
+    private final int offsets;
+    private final int size;
+    private final int nextStudentNumber;
+    private final List<String> people;
+    private final List<String> courses;
+    private final List<String> modules;
+
+    MappedRegister(MappedByteBuffer buffer, int offsets, int size, int nextStudentNumber,
+                   List<String> people, List<String> courses, List<String> modules) {
+        this.buffer = buffer;
+        this.offsets = offsets;
+        this.size = size;
+        this.nextStudentNumber = nextStudentNumber;
+        this.people = people;
+        this.courses = courses;
+        this.modules = modules;
+    }
+
+    public int nextStudentNumber() {
+        return nextStudentNumber;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Every student, decoded in parallel, for building the in-memory register from the file.
+    public List<Student> decodeAll() {
+        Student[] students = new Student[size];
+        Arrays.parallelSetAll(students, this::get);
+        return Arrays.asList(students);
+    }
+
+    @Override
+    public Student get(int index) {
+        Objects.checkIndex(index, size);
+        // absolute reads only, so concurrent readers never disturb each other's position
+        int position = buffer.getInt(offsets + 4 * index);
+        int studentNumber = buffer.getInt(position);
+        String firstName = people.get(buffer.getInt(position + 4));
+        String surname = people.get(buffer.getInt(position + 8));
+        int courseCount = buffer.get(position + 12);
+        position += 13;
+
+        List<Course> enrolledCourses = new ArrayList<>(courseCount);
+        for (int c = 0; c < courseCount; c++) {
+            String courseName = courses.get(buffer.getShort(position));
+            int moduleCount = buffer.get(position + 2);
+            position += 3;
+            List<Module> courseModules = new ArrayList<>(moduleCount);
+            for (int m = 0; m < moduleCount; m++) {
+                courseModules.add(new Module(modules.get(buffer.getShort(position)), Byte.toUnsignedInt(buffer.get(position + 2))));
+                position += 3;
+            }
+            enrolledCourses.add(CourseCatalogue.STANDARD.course(courseName, courseModules));
+        }
+        return new Student(studentNumber, firstName, surname, List.copyOf(enrolledCourses));
+    }
+}
@@ -0,0 +1,8 @@
+package register;
+
+record Module(String name, int grade) implements Enrollable {
+    public String getName() {
+        return name;
+    }
+
+}
@@ -0,0 +1,31 @@
+package register;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class NameDictionary {
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    public int intern(String name) {
+        return ids.computeIfAbsent(name, k -> {
+            names.add(k);
+            return names.size() - 1;
+        });
+    }
+
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public List<String> names() {
+        return Collections.unmodifiableList(names);
+    }
+}
@@ -0,0 +1,4 @@
+package register;
+
+record RankedStudent(int studentNumber, double score) {
+}
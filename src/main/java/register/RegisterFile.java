@@ -0,0 +1,144 @@
+package register;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+class RegisterFile {
+    private static final int MAGIC = 0x55524547; // "UREG"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    // Layout: header (magic, version, next student number, student count), the person, course and module
+    // name dictionaries, one int offset per student, then the student records themselves.
+    // Record: int number, int first name id, int surname id, byte course count,
+    // and per course a short course id, a byte module count and (short module id, byte grade) per module.
+    public static void write(Path path, Collection<Student> students, int nextStudentNumber) throws IOException {
+        NameDictionary people = new NameDictionary();
+        NameDictionary courses = new NameDictionary();
+        NameDictionary modules = new NameDictionary();
+        long recordsSize = 0;
+        for (Student student : students) {
+            people.intern(student.firstName());
+            people.intern(student.surname());
+            recordsSize += recordSize(student);
+            for (Course course : student.enrolledCourses()) {
+                courses.intern(course.getName());
+                course.modules().forEach(module -> modules.intern(module.getName()));
+            }
+        }
+        checkShortIds(courses, "courses");
+        checkShortIds(modules, "modules");
+
+        long size = HEADER_SIZE + dictionarySize(people) + dictionarySize(courses) + dictionarySize(modules)
+                + 4L * students.size() + recordsSize;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Register of " + size + " bytes is too large for a single mapped file.");
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(nextStudentNumber).putInt(students.size());
+            writeDictionary(buffer, people);
+            writeDictionary(buffer, courses);
+            writeDictionary(buffer, modules);
+
+            int offsets = buffer.position();
+            int record = offsets + 4 * students.size();
+            for (Student student : students) {
+                buffer.putInt(offsets, record);
+                offsets += 4;
+                buffer.position(record);
+                buffer.putInt(student.studentNumber())
+                        .putInt(people.intern(student.firstName()))
+                        .putInt(people.intern(student.surname()))
+                        .put((byte) student.enrolledCourses().size());
+                for (Course course : student.enrolledCourses()) {
+                    buffer.putShort((short) courses.intern(course.getName())).put((byte) course.modules().size());
+                    for (Module module : course.modules()) {
+                        buffer.putShort((short) modules.intern(module.getName())).put((byte) module.grade());
+                    }
+                }
+                record = buffer.position();
+            }
+            buffer.force();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static MappedRegister open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException(path + " is not a register file this version can read.");
+            }
+            int nextStudentNumber = buffer.getInt();
+            int size = buffer.getInt();
+            List<String> people = readDictionary(buffer);
+            List<String> courses = readDictionary(buffer);
+            List<String> modules = readDictionary(buffer);
+            return new MappedRegister(buffer, buffer.position(), size, nextStudentNumber, people, courses, modules);
+        }
+    }
+
+    private static int recordSize(Student student) {
+        if (student.enrolledCourses().size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Student " + student.studentNumber() + " has too many courses to store.");
+        }
+        int size = 4 + 4 + 4 + 1;
+        for (Course course : student.enrolledCourses()) {
+            if (course.modules().size() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Course " + course.getName() + " has too many modules to store.");
+            }
+            size += 2 + 1 + 3 * course.modules().size();
+            course.modules().forEach(module -> {
+                if (module.grade() < 0 || module.grade() > 255) {
+                    throw new IllegalArgumentException("Grade " + module.grade() + " for student " + student.studentNumber() + " cannot be stored.");
+                }
+            });
+        }
+        return size;
+    }
+
+    private static void checkShortIds(NameDictionary dictionary, String kind) {
+        if (dictionary.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many distinct " + kind + " to store: " + dictionary.size());
+        }
+    }
+
+    private static long dictionarySize(NameDictionary dictionary) {
+        return 4 + dictionary.names().stream().mapToLong(name -> 2 + name.getBytes(StandardCharsets.UTF_8).length).sum();
+    }
+
+    private static void writeDictionary(MappedByteBuffer buffer, NameDictionary dictionary) {
+        buffer.putInt(dictionary.size());
+        for (String name : dictionary.names()) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IllegalArgumentException("Name is too long to store: " + name);
+            }
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+    }
+
+    private static List<String> readDictionary(MappedByteBuffer buffer) {
+        int size = buffer.getInt();
+        List<String> names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(bytes);
+            names.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return names;
+    }
+}
@@ -0,0 +1,314 @@
+package register;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32;
+
+// Append-only log of register mutations. Entries are full-state upserts or removals, so replaying a
+// journal on top of a snapshot that already contains some of its entries still ends in the same state.
+class RegisterJournal implements AutoCloseable {
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final int FRAME_HEADER = 8;
+
+    private final Path path;
+    // replaced only by the flusher, when a truncation keeps the changes after a mark
+    private FileChannel channel;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+    private volatile long entries;
+    private volatile boolean closed;
+    // end of the last fsynced frame, so a failed write can be cut off before anything is appended after it
+    private volatile long committedSize;
+
+    // The end of the journal at some point, as its size and entry count.
+    record Mark(long size, long entries) {
+    }
+
+    // One call's frames, completed only by the fsync that covers all of them. A truncation has no frames and
+    // cuts the journal at its mark, or empties it when the mark is null.
+    private record PendingWrite(ByteBuffer[] frames, Mark cut, CompletableFuture<Void> done) {
+        boolean truncates() {
+            return frames == null;
+        }
+    }
+
+    private RegisterJournal(Path path, FileChannel channel, long entries) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.entries = entries;
+        this.committedSize = channel.position();
+        this.flusher = new Thread(this::flushLoop, "register-journal");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // Replays every intact entry through the callbacks, drops a torn tail and opens the journal for appending.
+    public static RegisterJournal open(Path path, Consumer<Student> put, IntConsumer remove) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer journal = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        long replayed = 0;
+        while (journal.remaining() >= FRAME_HEADER) {
+            int length = journal.getInt(journal.position());
+            int checksum = journal.getInt(journal.position() + 4);
+            if (length <= 0 || length > journal.remaining() - FRAME_HEADER) {
+                break;
+            }
+            ByteBuffer payload = journal.slice(journal.position() + FRAME_HEADER, length);
+            if (checksum(payload) != checksum) {
+                break;
+            }
+            if (payload.get() == PUT) {
+                put.accept(readStudent(payload));
+            } else {
+                remove.accept(payload.getInt());
+            }
+            journal.position(journal.position() + FRAME_HEADER + length);
+            replayed++;
+        }
+        channel.truncate(journal.position());
+        channel.position(journal.position());
+        return new RegisterJournal(path, channel, replayed);
+    }
+
+    public long entries() {
+        return entries;
+    }
+
+    public void put(Student student) throws IOException {
+        putAll(List.of(student));
+    }
+
+    // All students in one call share a single write and a single fsync.
+    public void putAll(Collection<Student> students) throws IOException {
+        if (students.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] frames = students.stream().map(student -> frame(PUT, encodeStudent(student))).toArray(ByteBuffer[]::new);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new PendingWrite(frames, null, done));
+        await(done);
+    }
+
+    public void remove(int studentNumber) throws IOException {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new PendingWrite(new ByteBuffer[] {frame(REMOVE, ByteBuffer.allocate(4).putInt(studentNumber).flip())}, null, done));
+        await(done);
+    }
+
+    // Called once a snapshot holding every journalled change has been written.
+    public void truncate() throws IOException {
+        truncate(null);
+    }
+
+    // Every change committed so far lies before the mark. Taken while no change is in flight, it is the cut
+    // point for a snapshot of the register as it stands.
+    public Mark mark() {
+        return new Mark(committedSize, entries);
+    }
+
+    // Called once a snapshot holding every change before the mark has been written; changes made since, while
+    // the snapshot was being written, stay in the journal.
+    public void truncate(Mark mark) throws IOException {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new PendingWrite(null, mark, done));
+        await(done);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        flusher.interrupt();
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void flushLoop() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (true) {
+            try {
+                PendingWrite next = closed ? queue.poll() : queue.take();
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            // group commit: everything queued while the previous fsync ran goes out together
+            queue.drainTo(batch);
+            int start = 0;
+            for (int i = 0; i <= batch.size(); i++) {
+                if (i == batch.size() || batch.get(i).truncates()) {
+                    commit(batch.subList(start, i));
+                    if (i < batch.size()) {
+                        commit(batch.get(i));
+                    }
+                    start = i + 1;
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void commit(List<PendingWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        try {
+            ByteBuffer[] frames = writes.stream().flatMap(write -> Arrays.stream(write.frames())).toArray(ByteBuffer[]::new);
+            while (frames[frames.length - 1].hasRemaining()) {
+                channel.write(frames);
+            }
+            channel.force(false);
+            committedSize = channel.position();
+            entries += frames.length;
+            writes.forEach(write -> write.done().complete(null));
+        } catch (IOException e) {
+            try {
+                channel.truncate(committedSize);
+                channel.position(committedSize);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            writes.forEach(write -> write.done().completeExceptionally(e));
+        }
+    }
+
+    private void commit(PendingWrite truncate) {
+        try {
+            Mark cut = truncate.cut();
+            if (cut == null || cut.size() == committedSize) {
+                channel.truncate(0);
+                channel.force(true);
+                committedSize = 0;
+                entries = 0;
+            } else {
+                keepAfter(cut);
+            }
+            truncate.done().complete(null);
+        } catch (IOException e) {
+            truncate.done().completeExceptionally(e);
+        }
+    }
+
+    // The changes after the cut are copied to a new journal that then replaces this one, so a crash part way
+    // through leaves either journal whole and never replays older changes over newer ones.
+    private void keepAfter(Mark cut) throws IOException {
+        Path kept = path.resolveSibling(path.getFileName() + ".tmp");
+        long size = committedSize - cut.size();
+        try (FileChannel copy = FileChannel.open(kept, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            for (long copied = 0; copied < size; ) {
+                copied += channel.transferTo(cut.size() + copied, size - copied, copy);
+            }
+            copy.force(true);
+        }
+        Files.move(kept, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel.close();
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(size);
+        committedSize = size;
+        entries -= cut.entries();
+    }
+
+    private static void await(CompletableFuture<Void> done) throws IOException {
+        try {
+            done.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    private static ByteBuffer frame(byte type, ByteBuffer body) {
+        ByteBuffer payload = ByteBuffer.allocate(1 + body.remaining()).put(type).put(body).flip();
+        return ByteBuffer.allocate(FRAME_HEADER + payload.remaining())
+                .putInt(payload.remaining())
+                .putInt(checksum(payload))
+                .put(payload)
+                .flip();
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static ByteBuffer encodeStudent(Student student) {
+        List<byte[]> strings = new ArrayList<>();
+        strings.add(student.firstName().getBytes(StandardCharsets.UTF_8));
+        strings.add(student.surname().getBytes(StandardCharsets.UTF_8));
+        int size = 4 + 1;
+        for (Course course : student.enrolledCourses()) {
+            strings.add(course.getName().getBytes(StandardCharsets.UTF_8));
+            course.modules().forEach(module -> strings.add(module.getName().getBytes(StandardCharsets.UTF_8)));
+            size += 1 + course.modules().size() * 4;
+        }
+        size += strings.stream().mapToInt(bytes -> 2 + bytes.length).sum();
+
+        Iterator<byte[]> names = strings.iterator();
+        ByteBuffer buffer = ByteBuffer.allocate(size).putInt(student.studentNumber());
+        putString(buffer, names.next());
+        putString(buffer, names.next());
+        buffer.put((byte) student.enrolledCourses().size());
+        for (Course course : student.enrolledCourses()) {
+            putString(buffer, names.next());
+            buffer.put((byte) course.modules().size());
+            for (Module module : course.modules()) {
+                putString(buffer, names.next());
+                buffer.putInt(module.grade());
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static Student readStudent(ByteBuffer buffer) {
+        int studentNumber = buffer.getInt();
+        String firstName = getString(buffer);
+        String surname = getString(buffer);
+        int courseCount = buffer.get();
+        List<Course> enrolledCourses = new ArrayList<>(courseCount);
+        for (int c = 0; c < courseCount; c++) {
+            String courseName = getString(buffer);
+            int moduleCount = buffer.get();
+            List<Module> modules = new ArrayList<>(moduleCount);
+            for (int m = 0; m < moduleCount; m++) {
+                modules.add(new Module(getString(buffer), buffer.getInt()));
+            }
+            enrolledCourses.add(CourseCatalogue.STANDARD.course(courseName, modules));
+        }
+        return new Student(studentNumber, firstName, surname, List.copyOf(enrolledCourses));
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,84 @@
+package register;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+// Drives a running RegisterService from many concurrent clients with a read mix like the portal's: mostly
+// lookups by number, with some surname searches and course listings. Reports throughput and latency.
+class RegisterLoadGenerator {
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final URI base;
+    private final List<String> courseNames;
+
+    RegisterLoadGenerator(int port, List<Course> courses) {
+        base = URI.create("http://localhost:" + port + "/");
+        courseNames = courses.stream().map(Course::getName).toList();
+    }
+
+    public void run(int requests, int concurrency) throws IOException, InterruptedException {
+        int nextStudentNumber = nextStudentNumber();
+        SplittableRandom random = new SplittableRandom();
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder failures = new LongAdder();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            HttpRequest request = HttpRequest.newBuilder(base.resolve(path(random, nextStudentNumber))).build();
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                latency.record(System.nanoTime() - sent);
+                // unknown numbers are expected once students have been removed
+                if (error != null || response.statusCode() >= 500) {
+                    failures.increment();
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Completed %d requests from %d clients in %.2f s (%.0f requests/s), %d failed.%n",
+                requests, concurrency, seconds, requests / seconds, failures.sum());
+        System.out.printf("Latency in microseconds: mean %d, p50 %d, p99 %d, p99.9 %d, max %d.%n",
+                latency.meanNanos() / 1_000, latency.percentileNanos(50) / 1_000, latency.percentileNanos(99) / 1_000,
+                latency.percentileNanos(99.9) / 1_000, latency.maxNanos() / 1_000);
+    }
+
+    private int nextStudentNumber() throws IOException, InterruptedException {
+        String status = client.send(HttpRequest.newBuilder(base).build(), HttpResponse.BodyHandlers.ofString()).body();
+        String field = "\"nextStudentNumber\":";
+        int from = status.indexOf(field) + field.length();
+        int to = from;
+        while (to < status.length() && Character.isDigit(status.charAt(to))) {
+            to++;
+        }
+        return Integer.parseInt(status.substring(from, to));
+    }
+
+    private String path(SplittableRandom random, int nextStudentNumber) {
+        int kind = random.nextInt(10);
+        if (kind < 8) {
+            return "students/" + random.nextInt(1, Math.max(2, nextStudentNumber));
+        } else if (kind < 9) {
+            String surname = UniversityRegister.SURNAMES[random.nextInt(UniversityRegister.SURNAMES.length)];
+            return "students?surname=" + surname.substring(0, 1 + random.nextInt(surname.length()));
+        }
+        String course = courseNames.get(random.nextInt(courseNames.size()));
+        return "courses/" + URLEncoder.encode(course, StandardCharsets.UTF_8).replace("+", "%20")
+                + "/students?sort=highest&limit=20&offset=" + random.nextInt(100);
+    }
+}
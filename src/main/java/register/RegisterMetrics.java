@@ -0,0 +1,207 @@
+package register;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+// Per-operation counters, latency histograms and allocated bytes for the register, plus gauges for its
+// size and course rosters. Exposed through JMX as register:type=RegisterMetrics and as a periodic dump.
+class RegisterMetrics implements DynamicMBean {
+    enum Operation {
+        // DISPLAY_COURSE is a course's summary with its first page; COURSE_PAGE each page fetched after it
+        ADD_STUDENT, SEARCH_STUDENT, DISPLAY_COURSE, COURSE_PAGE, ENTER_GRADES, REMOVE_STUDENT, GRADE_BATCH
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> allocatedBytes = new EnumMap<>(Operation.class);
+    private final Supplier<Integer> registerSize;
+    private final Supplier<Map<String, Integer>> courseSizes;
+
+    RegisterMetrics(Supplier<Integer> registerSize, Supplier<Map<String, Integer>> courseSizes) {
+        this.registerSize = registerSize;
+        this.courseSizes = courseSizes;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+            allocatedBytes.put(operation, new LongAdder());
+        }
+    }
+
+    // Runs the action as one sample of the operation, recorded whether it returns or throws.
+    public <T> T timed(Operation operation, Supplier<T> action) {
+        long startNanos = System.nanoTime();
+        long startBytes = allocatedBytes();
+        try {
+            return action.get();
+        } finally {
+            latencies.get(operation).record(System.nanoTime() - startNanos);
+            if (startBytes >= 0) {
+                allocatedBytes.get(operation).add(allocatedBytes() - startBytes);
+            }
+        }
+    }
+
+    public void timed(Operation operation, Runnable action) {
+        timed(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName("register:type=RegisterMetrics"));
+        } catch (JMException e) {
+            System.out.println("Could not register the metrics MBean: " + e.getMessage());
+        }
+    }
+
+    // Appends a snapshot of every metric to the file every intervalSeconds on a daemon thread.
+    public void dumpPeriodically(Path file, long intervalSeconds) {
+        ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "register-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> {
+            try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                ReportWriter report = new ReportWriter(out);
+                writeTo(report);
+                report.flush();
+            } catch (IOException | UncheckedIOException e) {
+                System.err.println("Could not write register metrics: " + e.getMessage());
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void writeTo(ReportWriter report) {
+        report.text("Register metrics at ").text(java.time.Instant.now().toString())
+                .text(": ").number(registerSize.get()).text(" students").newLine();
+        courseSizes.get().forEach((courseName, size) -> report.text("  course ").text(courseName)
+                .text(": ").number(size).newLine());
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram latency = latencies.get(operation);
+            report.text("  ").text(operation.name().toLowerCase())
+                    .text(": count=").number(latency.count())
+                    .text(" meanUs=").number(latency.meanNanos() / 1_000)
+                    .text(" p50Us=").number(latency.percentileNanos(50) / 1_000)
+                    .text(" p99Us=").number(latency.percentileNanos(99) / 1_000)
+                    .text(" maxUs=").number(latency.maxNanos() / 1_000)
+                    .text(" allocatedBytes=").number(allocatedBytes.get(operation).sum())
+                    .newLine();
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        if (attribute.equals("RegisterSize")) {
+            return registerSize.get();
+        }
+        if (attribute.equals("CourseSizes")) {
+            return courseSizes.get().toString();
+        }
+        for (Operation operation : Operation.values()) {
+            String prefix = attributePrefix(operation);
+            if (attribute.startsWith(prefix)) {
+                LatencyHistogram latency = latencies.get(operation);
+                switch (attribute.substring(prefix.length())) {
+                    case "Count": return latency.count();
+                    case "MeanMicros": return latency.meanNanos() / 1_000;
+                    case "P50Micros": return latency.percentileNanos(50) / 1_000;
+                    case "P99Micros": return latency.percentileNanos(99) / 1_000;
+                    case "MaxMicros": return latency.maxNanos() / 1_000;
+                    case "AllocatedBytes": return allocatedBytes.get(operation).sum();
+                    default: break;
+                }
+            }
+        }
+        throw new AttributeNotFoundException(attribute);
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList values = new AttributeList();
+        for (String attribute : attributes) {
+            try {
+                values.add(new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException e) {
+                // unknown attributes are left out, as the DynamicMBean contract allows
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        // the MBean has no operations, so any name is unknown, as the DynamicMBean contract reports it
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        attributes.add(new MBeanAttributeInfo("RegisterSize", "java.lang.Integer", "Students in the register", true, false, false));
+        attributes.add(new MBeanAttributeInfo("CourseSizes", "java.lang.String", "Students on each course", true, false, false));
+        for (Operation operation : Operation.values()) {
+            for (String metric : List.of("Count", "MeanMicros", "P50Micros", "P99Micros", "MaxMicros", "AllocatedBytes")) {
+                attributes.add(new MBeanAttributeInfo(attributePrefix(operation) + metric, "java.lang.Long",
+                        metric + " for " + operation.name().toLowerCase(), true, false, false));
+            }
+        }
+        return new MBeanInfo(getClass().getName(), "University register metrics",
+                attributes.toArray(MBeanAttributeInfo[]::new), null, null, null);
+    }
+
+    private static String attributePrefix(Operation operation) {
+        StringBuilder prefix = new StringBuilder();
+        for (String word : operation.name().split("_")) {
+            prefix.append(word.charAt(0)).append(word.substring(1).toLowerCase());
+        }
+        return prefix.toString();
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+}
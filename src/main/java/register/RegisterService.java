@@ -0,0 +1,524 @@
+package register;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+// JSON over HTTP for clients such as the student portal, bound to the loopback interface:
+//   GET    /                                 register size and next student number
+//   GET    /students/{number}
+//   GET    /students?firstName=|surname=     search, paged with offset= and limit=; fuzzy=true tolerates typos
+//   GET    /courses/{course}/students        listing, sort=alphabetical|highest|lowest, paged likewise or by
+//                                            passing a page's "next" key back as after=
+//   POST   /students/{number}/grades         form body course=&module=&grade=
+//   DELETE /students/{number}
+// Changes are journalled while the student's stripe lock is held, so the journal replays them in the order
+// they were applied. Every snapshotInterval journalled changes the register is snapshotted and the journal
+// cut back to the changes made since, much as the console does. Responses go out in chunks as they are
+// written rather than being built up first.
+class RegisterService implements AutoCloseable {
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 1_000;
+    private static final int BACKLOG = 1_024;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final ConcurrentRegister register;
+    private final RegisterJournal journal;
+    private final RegisterMetrics metrics;
+    private final HttpServer server;
+    private final ExecutorService executor = handlerExecutor();
+    private final int snapshotInterval;
+    private final Snapshot snapshot;
+    // changes hold the read side from journal to register, snapshots the write side only while they copy the
+    // register and mark the journal, so a snapshot never misses a change that is before its mark
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    // one snapshot at a time, so an older one is never written over a newer one
+    private final ReentrantLock snapshotting = new ReentrantLock();
+    private boolean closed;
+
+    // Saves a copy of the register, e.g. to the register file. The service then cuts the journal back to the
+    // changes made after the copy was taken.
+    interface Snapshot {
+        void save(List<Student> students, int nextStudentNumber) throws IOException;
+    }
+
+    // snapshot runs when the journal reaches snapshotInterval changes and once more on close.
+    RegisterService(ConcurrentRegister register, RegisterJournal journal, RegisterMetrics metrics, int port,
+                    int snapshotInterval, Snapshot snapshot) throws IOException {
+        this.register = register;
+        this.journal = journal;
+        this.metrics = metrics;
+        this.snapshotInterval = snapshotInterval;
+        this.snapshot = snapshot;
+        // chunked responses go out as several small writes, which Nagle's algorithm would hold for the client's
+        // delayed ACK; the server only reads this setting before its first use
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    // Virtual threads where the runtime has them (JDK 21 and later). The build targets 17, so the factory is
+    // looked up by name; older runtimes get a fixed pool sized for handlers that mostly wait on the journal.
+    private static ExecutorService handlerExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threads = new AtomicInteger();
+            return Executors.newFixedThreadPool(Math.max(16, 4 * Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "register-http-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    // Stops accepting requests, waits for the handlers still running and takes the final snapshot.
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.out.println("Requests still running after " + SHUTDOWN_TIMEOUT_SECONDS + " s will be refused.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotting.lock();
+        try {
+            Copy copy;
+            snapshotLock.writeLock().lock();
+            try {
+                // any change that has not started by now is refused, so none can land after the snapshot
+                closed = true;
+                copy = copyRegister();
+            } finally {
+                snapshotLock.writeLock().unlock();
+            }
+            save(copy);
+        } finally {
+            snapshotting.unlock();
+        }
+    }
+
+    private static final class RequestException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        RequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                route(exchange);
+            } catch (RequestException e) {
+                sendError(exchange, e.status, e.getMessage());
+            } catch (UncheckedIOException e) {
+                // the change was not recorded, or the client went away mid-response
+                if (exchange.getResponseCode() == -1) {
+                    sendError(exchange, 503, "Could not record the change: " + e.getCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        List<String> path = pathSegments(exchange.getRequestURI().getRawPath());
+        Map<String, String> query = parameters(exchange.getRequestURI().getRawQuery());
+
+        if (path.isEmpty()) {
+            requireMethod(method, "GET");
+            ReportWriter json = startJson(exchange, 200);
+            json.text("{\"students\":").number(register.size())
+                    .text(",\"nextStudentNumber\":").number(register.nextStudentNumber()).text("}");
+            json.flush();
+        } else if (path.get(0).equals("students") && path.size() == 1) {
+            requireMethod(method, "GET");
+            searchStudents(exchange, query);
+        } else if (path.get(0).equals("students") && path.size() == 2) {
+            int studentNumber = studentNumber(path.get(1));
+            if (method.equals("DELETE")) {
+                removeStudent(exchange, studentNumber);
+            } else {
+                requireMethod(method, "GET");
+                getStudent(exchange, studentNumber);
+            }
+        } else if (path.get(0).equals("students") && path.size() == 3 && path.get(2).equals("grades")) {
+            requireMethod(method, "POST");
+            updateGrade(exchange, studentNumber(path.get(1)),
+                    parameters(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+        } else if (path.get(0).equals("courses") && path.size() == 3 && path.get(2).equals("students")) {
+            requireMethod(method, "GET");
+            listCourse(exchange, path.get(1), query);
+        } else {
+            throw new RequestException(404, "No such resource: " + exchange.getRequestURI().getPath());
+        }
+    }
+
+    private void getStudent(HttpExchange exchange, int studentNumber) {
+        Student student = metrics.timed(RegisterMetrics.Operation.SEARCH_STUDENT,
+                () -> register.get(studentNumber).orElseThrow(() -> noStudent(studentNumber)));
+        ReportWriter json = startJson(exchange, 200);
+        writeStudent(json, student);
+        json.flush();
+    }
+
+    private void searchStudents(HttpExchange exchange, Map<String, String> query) {
+        int offset = offset(query);
+        int limit = limit(query);
+        boolean fuzzy = Boolean.parseBoolean(query.get("fuzzy"));
+        StudentIndex.Page found = metrics.timed(RegisterMetrics.Operation.SEARCH_STUDENT, () -> {
+            if (query.containsKey("firstName")) {
+                String firstName = query.get("firstName");
+                return fuzzy ? register.fuzzySearchFirstName(firstName, offset, limit)
+                        : register.searchFirstName(firstName, offset, limit);
+            } else if (query.containsKey("surname")) {
+                String surname = query.get("surname");
+                return fuzzy ? register.fuzzySearchSurname(surname, offset, limit)
+                        : register.searchSurname(surname, offset, limit);
+            } else {
+                throw new RequestException(400, "Search by firstName or surname.");
+            }
+        });
+        ReportWriter json = startJson(exchange, 200);
+        writePage(json, found.total(), offset, limit, found.students(), RegisterService::writeStudent);
+        json.flush();
+    }
+
+    private void listCourse(HttpExchange exchange, String courseName, Map<String, String> query) {
+        int offset = offset(query);
+        int limit = limit(query);
+        String sort = query.getOrDefault("sort", "alphabetical");
+        CourseRoster.Order order = switch (sort) {
+            case "alphabetical" -> CourseRoster.Order.ALPHABETICAL;
+            case "highest" -> CourseRoster.Order.HIGHEST_GRADE;
+            case "lowest" -> CourseRoster.Order.LOWEST_GRADE;
+            default -> throw new RequestException(400, "Sort by alphabetical, highest or lowest.");
+        };
+        CourseRoster.ListingKey after;
+        try {
+            after = query.containsKey("after") ? CourseRoster.ListingKey.parse(query.get("after")) : null;
+        } catch (IllegalArgumentException e) {
+            throw new RequestException(400, "after must be the next key from a previous page.");
+        }
+        record Listing(int total, CourseRoster.Page page) {
+        }
+        // a page resumed from a key is a further page of a listing the client is already showing
+        Listing listing = metrics.timed(after == null
+                ? RegisterMetrics.Operation.DISPLAY_COURSE : RegisterMetrics.Operation.COURSE_PAGE, () -> {
+            int size = register.courseSize(courseName);
+            if (size == 0) {
+                throw new RequestException(404, "No students found on course " + courseName + ".");
+            }
+            return new Listing(size, register.page(courseName, order, after, offset, limit));
+        });
+        int total = listing.total();
+        CourseRoster.Page page = listing.page();
+        ReportWriter json = startJson(exchange, 200);
+        json.text("{\"course\":");
+        string(json, courseName).text(",\"sort\":");
+        string(json, sort).text(",\"next\":");
+        if (page.next() == null) {
+            json.text("null");
+        } else {
+            string(json, page.next().token());
+        }
+        json.text(",\"page\":");
+        writePage(json, total, offset, limit, page.entries(), (out, listed) -> {
+            out.text("{\"studentNumber\":").number(listed.student().studentNumber()).text(",\"firstName\":");
+            string(out, listed.student().getFirstName()).text(",\"surname\":");
+            string(out, listed.student().getSurname()).text(",\"average\":").grade(listed.average()).text("}");
+        });
+        json.text("}");
+        json.flush();
+    }
+
+    private void updateGrade(HttpExchange exchange, int studentNumber, Map<String, String> form) {
+        String courseName = required(form, "course");
+        String moduleName = required(form, "module");
+        int grade = integer(form, "grade", -1);
+        if (grade < 0 || grade > 100) {
+            throw new RequestException(400, "Grades must be between 0 and 100.");
+        }
+        Student updated = metrics.timed(RegisterMetrics.Operation.ENTER_GRADES,
+                () -> journalled(() -> register.update(studentNumber, student -> {
+                    if (!student.hasModule(courseName, moduleName)) {
+                        throw new RequestException(404, "Student " + studentNumber + " is not taking "
+                                + courseName + " / " + moduleName + ".");
+                    }
+                    Student changed = student.updateGrades(List.of(new GradeUpdate(courseName, moduleName, grade)));
+                    journalPut(changed);
+                    return changed;
+                })).orElseThrow(() -> noStudent(studentNumber)));
+        ReportWriter json = startJson(exchange, 200);
+        writeStudent(json, updated);
+        json.flush();
+        respondThenCompact(exchange);
+    }
+
+    private void removeStudent(HttpExchange exchange, int studentNumber) throws IOException {
+        boolean removed = metrics.timed(RegisterMetrics.Operation.REMOVE_STUDENT,
+                () -> journalled(() -> register.remove(studentNumber, this::journalRemove)));
+        if (!removed) {
+            throw noStudent(studentNumber);
+        }
+        exchange.sendResponseHeaders(204, -1);
+        respondThenCompact(exchange);
+    }
+
+    private <T> T journalled(Supplier<T> change) {
+        snapshotLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new RequestException(503, "The register is shutting down.");
+            }
+            return change.get();
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    // Closing the exchange ends the chunked response, so the client whose change tipped the journal over gets
+    // its answer before the snapshot rather than after it. Closing it again once the handler returns is a no-op.
+    private void respondThenCompact(HttpExchange exchange) {
+        exchange.close();
+        compactJournalIfNeeded();
+    }
+
+    // Writers are held off only while the register is copied and the journal marked; the snapshot is sorted
+    // and written alongside new changes, which stay in the journal after the mark. A snapshot already under
+    // way covers this change's turn.
+    private void compactJournalIfNeeded() {
+        if (journal.entries() < snapshotInterval || !snapshotting.tryLock()) {
+            return;
+        }
+        try {
+            Copy copy;
+            snapshotLock.writeLock().lock();
+            try {
+                if (closed || journal.entries() < snapshotInterval) {
+                    return;
+                }
+                copy = copyRegister();
+            } finally {
+                snapshotLock.writeLock().unlock();
+            }
+            save(copy);
+        } finally {
+            snapshotting.unlock();
+        }
+    }
+
+    // The register as the journal mark leaves it.
+    private record Copy(List<Student> students, int nextStudentNumber, RegisterJournal.Mark mark) {
+    }
+
+    // Needs the write side: with no change in flight, the copy holds exactly the changes before the mark.
+    // Copying the references is all that is done under the lock.
+    private Copy copyRegister() {
+        return new Copy(register.copyStudents(), register.nextStudentNumber(), journal.mark());
+    }
+
+    private void save(Copy copy) {
+        List<Student> students = copy.students();
+        students.sort(Comparator.comparingInt(Student::studentNumber));
+        try {
+            snapshot.save(students, copy.nextStudentNumber());
+            journal.truncate(copy.mark());
+        } catch (IOException e) {
+            System.out.println("Could not save the register: " + e.getMessage());
+        }
+    }
+
+    private void journalPut(Student student) {
+        try {
+            journal.put(student);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void journalRemove(int studentNumber) {
+        try {
+            journal.remove(studentNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ReportWriter startJson(HttpExchange exchange, int status) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            // a zero length selects chunked encoding, so each full buffer goes straight to the client
+            exchange.sendResponseHeaders(status, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ReportWriter(exchange.getResponseBody());
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) {
+        ReportWriter json = startJson(exchange, status);
+        json.text("{\"error\":");
+        string(json, message).text("}");
+        json.flush();
+    }
+
+    private static <T> void writePage(ReportWriter json, int total, int offset, int limit, List<T> page,
+                                      BiConsumer<ReportWriter, T> writeEntry) {
+        json.text("{\"total\":").number(total).text(",\"offset\":").number(offset)
+                .text(",\"limit\":").number(limit).text(",\"students\":[");
+        for (int i = 0; i < page.size(); i++) {
+            if (i > 0) {
+                json.text(",");
+            }
+            writeEntry.accept(json, page.get(i));
+        }
+        json.text("]}");
+    }
+
+    static void writeStudent(ReportWriter json, Student student) {
+        json.text("{\"studentNumber\":").number(student.studentNumber()).text(",\"firstName\":");
+        string(json, student.getFirstName()).text(",\"surname\":");
+        string(json, student.getSurname()).text(",\"courses\":[");
+        for (int c = 0; c < student.enrolledCourses().size(); c++) {
+            Course course = student.enrolledCourses().get(c);
+            json.text(c > 0 ? ",{\"name\":" : "{\"name\":");
+            string(json, course.getName()).text(",\"average\":").grade(course.calculateAverageGrade()).text(",\"modules\":[");
+            for (int m = 0; m < course.modules().size(); m++) {
+                Module module = course.modules().get(m);
+                json.text(m > 0 ? ",{\"name\":" : "{\"name\":");
+                string(json, module.getName()).text(",\"grade\":").number(module.grade()).text("}");
+            }
+            json.text("]}");
+        }
+        json.text("]}");
+    }
+
+    static ReportWriter string(ReportWriter json, String value) {
+        json.text("\"");
+        int plain = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                json.text(value.substring(plain, i));
+                json.text(c == '"' ? "\\\"" : c == '\\' ? "\\\\" : String.format("\\u%04x", (int) c));
+                plain = i + 1;
+            }
+        }
+        return json.text(plain == 0 ? value : value.substring(plain)).text("\"");
+    }
+
+    private static List<String> pathSegments(String rawPath) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : rawPath.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment.replace("+", "%2B"), StandardCharsets.UTF_8));
+            }
+        }
+        return segments;
+    }
+
+    private static Map<String, String> parameters(String encoded) {
+        Map<String, String> parameters = new HashMap<>();
+        if (encoded == null || encoded.isBlank()) {
+            return parameters;
+        }
+        for (String pair : encoded.trim().split("&")) {
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            parameters.putIfAbsent(name, value);
+        }
+        return parameters;
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) {
+            throw new RequestException(405, method + " is not supported here.");
+        }
+    }
+
+    private static String required(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null || value.isBlank()) {
+            throw new RequestException(400, "Missing " + name + ".");
+        }
+        return value;
+    }
+
+    private static int integer(Map<String, String> parameters, String name, int defaultValue) {
+        String value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RequestException(400, name + " must be a whole number.");
+        }
+    }
+
+    private static int studentNumber(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            throw new RequestException(404, "No such student: " + segment);
+        }
+    }
+
+    private static int offset(Map<String, String> query) {
+        int offset = integer(query, "offset", 0);
+        if (offset < 0) {
+            throw new RequestException(400, "offset cannot be negative.");
+        }
+        return offset;
+    }
+
+    private static int limit(Map<String, String> query) {
+        int limit = integer(query, "limit", DEFAULT_LIMIT);
+        if (limit < 0 || limit > MAX_LIMIT) {
+            throw new RequestException(400, "limit must be between 0 and " + MAX_LIMIT + ".");
+        }
+        return limit;
+    }
+
+    private static RequestException noStudent(int studentNumber) {
+        return new RequestException(404, "No student with number " + studentNumber + ".");
+    }
+}
@@ -0,0 +1,110 @@
+package register;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+// Renders report text into one reusable byte buffer and hands it to the output in large chunks, so a
+// listing costs no per-row strings or formatters and only one write per 64K of output.
+class ReportWriter implements Flushable {
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[CHUNK_SIZE];
+    private int position;
+
+    ReportWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public ReportWriter text(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                return bytes(text.substring(i).getBytes(StandardCharsets.UTF_8));
+            }
+            ensure(1);
+            buffer[position++] = (byte) c;
+        }
+        return this;
+    }
+
+    public ReportWriter number(long value) {
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+        }
+        int start = position;
+        // digits come off the value negated, as Long.MIN_VALUE has no positive counterpart
+        long remaining = value < 0 ? value : -value;
+        do {
+            buffer[position++] = (byte) ('0' - remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        for (int left = start, right = position - 1; left < right; left++, right--) {
+            byte digit = buffer[left];
+            buffer[left] = buffer[right];
+            buffer[right] = digit;
+        }
+        return this;
+    }
+
+    // Fixed-point "#0.00", rounding half up.
+    public ReportWriter grade(double grade) {
+        if (Double.isNaN(grade) || Double.isInfinite(grade)) {
+            return text(String.valueOf(grade));
+        }
+        long hundredths = Math.round(Math.abs(grade) * 100);
+        if (grade < 0 && hundredths > 0) {
+            text("-");
+        }
+        number(hundredths / 100);
+        ensure(3);
+        buffer[position++] = '.';
+        buffer[position++] = (byte) ('0' + hundredths % 100 / 10);
+        buffer[position++] = (byte) ('0' + hundredths % 10);
+        return this;
+    }
+
+    public ReportWriter newLine() {
+        return text(System.lineSeparator());
+    }
+
+    @Override
+    public void flush() {
+        drain();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ReportWriter bytes(byte[] bytes) {
+        for (int written = 0; written < bytes.length; ) {
+            ensure(1);
+            int length = Math.min(bytes.length - written, buffer.length - position);
+            System.arraycopy(bytes, written, buffer, position, length);
+            position += length;
+            written += length;
+        }
+        return this;
+    }
+
+    private void ensure(int space) {
+        if (position + space > buffer.length) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        try {
+            out.write(buffer, 0, position);
+            position = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
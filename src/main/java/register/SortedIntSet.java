@@ -0,0 +1,52 @@
+package register;
+
+import java.util.Arrays;
+
+// Distinct ints kept in ascending order in one growable array, with positional access for paging.
+// Student numbers are handed out in order, so adding one is almost always an append; the rare insert
+// or removal in the middle shifts the tail along.
+class SortedIntSet {
+    private int[] values = new int[4];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    // The index-th smallest value.
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return values[index];
+    }
+
+    public boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    public boolean add(int value) {
+        int position = size == 0 || value > values[size - 1] ? -(size + 1) : Arrays.binarySearch(values, 0, size, value);
+        if (position >= 0) {
+            return false;
+        }
+        position = -(position + 1);
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, position, values, position + 1, size - position);
+        values[position] = value;
+        size++;
+        return true;
+    }
+
+    public boolean remove(int value) {
+        int position = Arrays.binarySearch(values, 0, size, value);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+        size--;
+        return true;
+    }
+}
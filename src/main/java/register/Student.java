@@ -0,0 +1,120 @@
+package register;
+
+import java.util.List;
+
+record Student(int studentNumber, String firstName, String surname, List<Course> enrolledCourses) {
+    public String getSurname() {
+        return surname;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    // Only the updated course gets a new spine; every other course and every unchanged module is shared.
+    public Student updateGrades(String courseName, List<Module> updatedModules) {
+        int position = courseIndex(courseName);
+        if (position < 0) {
+            return this;
+        }
+        Course[] courses = enrolledCourses.toArray(new Course[0]);
+        courses[position] = CourseCatalogue.STANDARD.course(courses[position].getName(), updatedModules);
+        return new Student(studentNumber, firstName, surname, List.of(courses));
+    }
+
+    // Applies any number of module grades in one pass; the last update for a module wins.
+    public Student updateGrades(List<GradeUpdate> updates) {
+        Module[][] updatedModules = new Module[enrolledCourses.size()][];
+        for (GradeUpdate update : updates) {
+            int position = courseIndex(update.courseName());
+            if (position < 0) {
+                continue;
+            }
+            Course course = enrolledCourses.get(position);
+            int module = moduleIndex(course, update.moduleName());
+            if (module < 0) {
+                continue;
+            }
+            if (updatedModules[position] == null) {
+                updatedModules[position] = course.modules().toArray(new Module[0]);
+            }
+            updatedModules[position][module] = CourseCatalogue.STANDARD.module(course.getName(),
+                    updatedModules[position][module].getName(), update.grade());
+        }
+        Course[] courses = null;
+        for (int position = 0; position < updatedModules.length; position++) {
+            if (updatedModules[position] != null) {
+                if (courses == null) {
+                    courses = enrolledCourses.toArray(new Course[0]);
+                }
+                courses[position] = new Course(courses[position].getName(), List.of(updatedModules[position]));
+            }
+        }
+        return courses == null ? this : new Student(studentNumber, firstName, surname, List.of(courses));
+    }
+
+    // Catalogue names are shared strings, so the usual case is an identity match after one lookup.
+    private int courseIndex(String courseName) {
+        String canonical = CourseCatalogue.STANDARD.courseName(courseName);
+        for (int i = 0; i < enrolledCourses.size(); i++) {
+            if (enrolledCourses.get(i).getName() == canonical) {
+                return i;
+            }
+        }
+        for (int i = 0; i < enrolledCourses.size(); i++) {
+            if (enrolledCourses.get(i).getName().equalsIgnoreCase(courseName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int moduleIndex(Course course, String moduleName) {
+        String canonical = CourseCatalogue.STANDARD.moduleName(course.getName(), moduleName);
+        List<Module> modules = course.modules();
+        for (int i = 0; i < modules.size(); i++) {
+            if (modules.get(i).getName() == canonical) {
+                return i;
+            }
+        }
+        for (int i = 0; i < modules.size(); i++) {
+            if (modules.get(i).getName().equalsIgnoreCase(moduleName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean hasModule(String courseName, String moduleName) {
+        int position = courseIndex(courseName);
+        return position >= 0 && moduleIndex(enrolledCourses.get(position), moduleName) >= 0;
+    }
+
+    public void displayEnrolledCourses() {
+        ReportWriter report = new ReportWriter(System.out);
+        writeEnrolledCourses(report);
+        report.flush();
+    }
+
+    public void writeEnrolledCourses(ReportWriter report) {
+        report.text("Student Number: ").number(studentNumber).newLine();
+        report.text(firstName).text(" ").text(surname).text("'s enrolled courses:").newLine();
+        enrolledCourses.forEach(course -> {
+            report.text("Course: ").text(course.getName()).newLine();
+            report.text("Average Grade: ").text(String.valueOf(course.calculateAverageGrade())).newLine();
+            report.text("Modules and Grades:").newLine();
+            course.modules().forEach(module -> report.text("- ").text(module.getName())
+                    .text(" (Grade: ").number(module.grade()).text(")").newLine());
+            report.newLine();
+        });
+    }
+
+    public double getAverageGradeForCourse(String courseName) {
+        return enrolledCourses.stream()
+                .filter(course -> course.getName().equalsIgnoreCase(courseName))
+                .findFirst()
+                .map(course -> Math.round(course.calculateAverageGrade() * 100) / 100.0)
+                .orElse(Double.NaN);
+    }
+
+}
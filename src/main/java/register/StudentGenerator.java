@@ -0,0 +1,81 @@
+package register;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+// Generates students in parallel chunks. Each chunk draws from its own SplittableRandom, split off one root
+// generator in chunk order before any work is forked, so the same seed yields the same register however the
+// work is split across cores and the chunks' streams are independent rather than offsets of one sequence.
+class StudentGenerator {
+    private static final int CHUNK_SIZE = 16_384;
+
+    private final String[] firstNames;
+    private final String[] surnames;
+    private final CourseCatalogue catalogue;
+
+    StudentGenerator(String[] firstNames, String[] surnames, List<Course> catalogue) {
+        this.firstNames = firstNames;
+        this.surnames = surnames;
+        this.catalogue = CourseCatalogue.of(catalogue);
+    }
+
+    public Student[] generate(int firstStudentNumber, int count, long seed) {
+        Student[] students = new Student[count];
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] chunkRandoms = new SplittableRandom[(count + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        for (int chunk = 0; chunk < chunkRandoms.length; chunk++) {
+            chunkRandoms[chunk] = root.split();
+        }
+        new GenerateChunks(students, firstStudentNumber, chunkRandoms, 0, chunkRandoms.length).invoke();
+        return students;
+    }
+
+    private void generateChunk(Student[] students, int firstStudentNumber, SplittableRandom random, int chunk) {
+        int end = Math.min(students.length, (chunk + 1) * CHUNK_SIZE);
+        for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+            String firstName = firstNames[random.nextInt(firstNames.length)];
+            String surname = surnames[random.nextInt(surnames.length)];
+            int courseId = random.nextInt(catalogue.size());
+            Course selectedCourse = catalogue.course(courseId);
+
+            Module[] modules = new Module[selectedCourse.modules().size()];
+            for (int m = 0; m < modules.length; m++) {
+                modules[m] = catalogue.module(courseId, m, random.nextInt(46) + 40);
+            }
+            List<Course> enrolledCourses = List.of(new Course(selectedCourse.getName(), List.of(modules)));
+            students[i] = new Student(firstStudentNumber + i, firstName, surname, enrolledCourses);
+        }
+    }
+
+    private class GenerateChunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Student[] students;
+        private final int firstStudentNumber;
+        private final SplittableRandom[] chunkRandoms;
+        private final int fromChunk;
+        private final int toChunk;
+
+        GenerateChunks(Student[] students, int firstStudentNumber, SplittableRandom[] chunkRandoms, int fromChunk, int toChunk) {
+            this.students = students;
+            this.firstStudentNumber = firstStudentNumber;
+            this.chunkRandoms = chunkRandoms;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk <= 1) {
+                if (fromChunk < toChunk) {
+                    generateChunk(students, firstStudentNumber, chunkRandoms[fromChunk], fromChunk);
+                }
+                return;
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(new GenerateChunks(students, firstStudentNumber, chunkRandoms, fromChunk, middle),
+                    new GenerateChunks(students, firstStudentNumber, chunkRandoms, middle, toChunk));
+        }
+    }
+}
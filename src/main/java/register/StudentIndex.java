@@ -0,0 +1,414 @@
+package register;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+
+// Name search over a register's students. The index holds only student numbers; hits are resolved through the
+// register's own lookup, so it never keeps a second copy of a student and always returns the current one.
+class StudentIndex {
+    private final IntFunction<Student> students;
+    private final NameIndex firstNames = new NameIndex();
+    private final NameIndex surnames = new NameIndex();
+    private int size;
+
+    // One page of search results and how many matched in all.
+    record Page(List<Student> students, int total) {
+    }
+
+    StudentIndex(IntFunction<Student> students) {
+        this.students = students;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Student get(int studentNumber) {
+        return students.apply(studentNumber);
+    }
+
+    public void add(Student student) {
+        firstNames.add(student.firstName(), student.studentNumber());
+        surnames.add(student.surname(), student.studentNumber());
+        size++;
+    }
+
+    // Moves a student from its previous names to its updated ones; either may be null for an add or a removal.
+    public void move(Student previous, Student updated) {
+        if (previous == null) {
+            add(updated);
+        } else if (updated == null) {
+            remove(previous);
+        } else if (!previous.firstName().equals(updated.firstName()) || !previous.surname().equals(updated.surname())) {
+            // grade changes keep the name, so the postings already hold the student
+            remove(previous);
+            add(updated);
+        }
+    }
+
+    // Bulk add of students not yet in the index, for loading or generating a register, where a handful of
+    // spellings cover every student: each distinct spelling is lower-cased and looked up once, and numbers in
+    // ascending order are appends.
+    public void addAll(Collection<Student> added) {
+        Map<String, SortedIntSet> firstNamePostings = new HashMap<>();
+        Map<String, SortedIntSet> surnamePostings = new HashMap<>();
+        for (Student student : added) {
+            firstNamePostings.computeIfAbsent(student.firstName(), firstNames::posting).add(student.studentNumber());
+            surnamePostings.computeIfAbsent(student.surname(), surnames::posting).add(student.studentNumber());
+        }
+        size += added.size();
+    }
+
+    public void remove(Student student) {
+        firstNames.remove(student.firstName(), student.studentNumber());
+        surnames.remove(student.surname(), student.studentNumber());
+        size--;
+    }
+
+    public List<Student> searchFirstName(String query) {
+        return searchFirstName(query, 0, Integer.MAX_VALUE).students();
+    }
+
+    public List<Student> searchSurname(String query) {
+        return searchSurname(query, 0, Integer.MAX_VALUE).students();
+    }
+
+    // Matches in student number order. Only the students on the page are resolved, and the total comes from
+    // the posting sizes, so a page costs O(offset + limit) however many students match.
+    public Page searchFirstName(String query, int offset, int limit) {
+        return merged(firstNames.matching(query.toLowerCase()), offset, limit);
+    }
+
+    public Page searchSurname(String query, int offset, int limit) {
+        return merged(surnames.matching(query.toLowerCase()), offset, limit);
+    }
+
+    // Typo-tolerant search: names a few edits away from the query or sounding like it, closest name first.
+    public List<Student> fuzzySearchFirstName(String query) {
+        return fuzzySearchFirstName(query, 0, Integer.MAX_VALUE).students();
+    }
+
+    public List<Student> fuzzySearchSurname(String query) {
+        return fuzzySearchSurname(query, 0, Integer.MAX_VALUE).students();
+    }
+
+    public Page fuzzySearchFirstName(String query, int offset, int limit) {
+        return ranked(firstNames.similar(query.toLowerCase()), offset, limit);
+    }
+
+    public Page fuzzySearchSurname(String query, int offset, int limit) {
+        return ranked(surnames.similar(query.toLowerCase()), offset, limit);
+    }
+
+    // a student removed from the register between the posting read and the lookup is left off the page
+    private void resolve(List<Student> found, int studentNumber) {
+        Student student = students.apply(studentNumber);
+        if (student != null) {
+            found.add(student);
+        }
+    }
+
+    private static int total(List<SortedIntSet> postings) {
+        int total = 0;
+        for (SortedIntSet posting : postings) {
+            total += posting.size();
+        }
+        return total;
+    }
+
+    // k-way merge of the sorted postings on a small heap of posting positions, stopping once the page is full
+    private Page merged(List<SortedIntSet> postings, int offset, int limit) {
+        int total = total(postings);
+        List<Student> found = new ArrayList<>((int) Math.max(0, Math.min(limit, (long) total - offset)));
+        if (postings.size() == 1) {
+            SortedIntSet posting = postings.get(0);
+            for (int i = offset; i < total && found.size() < limit; i++) {
+                resolve(found, posting.get(i));
+            }
+            return new Page(found, total);
+        }
+        int[] next = new int[postings.size()];
+        int[] heap = new int[postings.size()];
+        int heapSize = 0;
+        for (int p = 0; p < postings.size(); p++) {
+            if (postings.get(p).size() > 0) {
+                heap[heapSize++] = p;
+            }
+        }
+        for (int slot = heapSize / 2 - 1; slot >= 0; slot--) {
+            siftDown(postings, next, heap, heapSize, slot);
+        }
+        for (int skipped = 0; heapSize > 0 && found.size() < limit; ) {
+            int p = heap[0];
+            int number = postings.get(p).get(next[p]++);
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                resolve(found, number);
+            }
+            if (next[p] == postings.get(p).size()) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(postings, next, heap, heapSize, 0);
+        }
+        return new Page(found, total);
+    }
+
+    private static void siftDown(List<SortedIntSet> postings, int[] next, int[] heap, int heapSize, int slot) {
+        while (true) {
+            int lowest = slot;
+            for (int child = 2 * slot + 1; child <= 2 * slot + 2 && child < heapSize; child++) {
+                if (head(postings, next, heap[child]) < head(postings, next, heap[lowest])) {
+                    lowest = child;
+                }
+            }
+            if (lowest == slot) {
+                return;
+            }
+            int swap = heap[slot];
+            heap[slot] = heap[lowest];
+            heap[lowest] = swap;
+            slot = lowest;
+        }
+    }
+
+    private static int head(List<SortedIntSet> postings, int[] next, int p) {
+        return postings.get(p).get(next[p]);
+    }
+
+    // keeps the postings in rank order, each in student number order; whole postings before the page are skipped
+    private Page ranked(List<SortedIntSet> postings, int offset, int limit) {
+        int total = total(postings);
+        List<Student> found = new ArrayList<>((int) Math.max(0, Math.min(limit, (long) total - offset)));
+        int skip = offset;
+        for (SortedIntSet posting : postings) {
+            if (found.size() == limit) {
+                break;
+            }
+            if (skip >= posting.size()) {
+                skip -= posting.size();
+                continue;
+            }
+            for (int i = skip; i < posting.size() && found.size() < limit; i++) {
+                resolve(found, posting.get(i));
+            }
+            skip = 0;
+        }
+        return new Page(found, total);
+    }
+
+    // lowercase name -> student numbers, plus every 1-3 character gram -> the distinct names containing it,
+    // and for fuzzy search a BK-tree and Soundex codes over the same distinct names
+    private static class NameIndex {
+        private static final int GRAM = 3;
+
+        private final Map<String, SortedIntSet> postings = new HashMap<>();
+        private final Map<String, Set<String>> grams = new HashMap<>();
+        private final BkTree spellings = new BkTree();
+        private final Map<String, Set<String>> sounds = new HashMap<>();
+
+        void add(String name, int studentNumber) {
+            posting(name).add(studentNumber);
+        }
+
+        // the students with this name, registering the name first if it is new
+        SortedIntSet posting(String name) {
+            return postings.computeIfAbsent(name.toLowerCase(), k -> {
+                grams(k).forEach(gram -> grams.computeIfAbsent(gram, g -> new HashSet<>()).add(k));
+                spellings.add(k);
+                sounds.computeIfAbsent(soundex(k), code -> new HashSet<>()).add(k);
+                return new SortedIntSet();
+            });
+        }
+
+        void remove(String name, int studentNumber) {
+            String key = name.toLowerCase();
+            SortedIntSet posting = postings.get(key);
+            if (posting == null) {
+                return;
+            }
+            posting.remove(studentNumber);
+            if (posting.size() == 0) {
+                postings.remove(key);
+                grams(key).forEach(gram -> {
+                    Set<String> names = grams.get(gram);
+                    names.remove(key);
+                    if (names.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                });
+                // the BK-tree keeps the name as a node; searches skip names with no students left
+                Set<String> alike = sounds.get(soundex(key));
+                alike.remove(key);
+                if (alike.isEmpty()) {
+                    sounds.remove(soundex(key));
+                }
+            }
+        }
+
+        private record Match(String name, int distance, boolean soundsAlike) {
+            static final Comparator<Match> RANK = Comparator.comparingInt(Match::distance)
+                    .thenComparing(match -> !match.soundsAlike())
+                    .thenComparing(Match::name);
+        }
+
+        // Names within one edit of a short query (two for five letters or more) or with its Soundex code.
+        List<SortedIntSet> similar(String query) {
+            if (query.isBlank()) {
+                return List.of();
+            }
+            String code = soundex(query);
+            Map<String, Match> matches = new HashMap<>();
+            spellings.search(query, query.length() <= 4 ? 1 : 2, (name, distance) -> {
+                if (postings.containsKey(name)) {
+                    matches.put(name, new Match(name, distance, soundex(name).equals(code)));
+                }
+            });
+            for (String name : sounds.getOrDefault(code, Set.of())) {
+                matches.computeIfAbsent(name, k -> new Match(k, editDistance(query, k), true));
+            }
+            return matches.values().stream()
+                    .sorted(Match.RANK)
+                    .map(match -> postings.get(match.name()))
+                    .toList();
+        }
+
+        static int editDistance(String a, String b) {
+            int[] previous = new int[b.length() + 1];
+            int[] current = new int[b.length() + 1];
+            for (int j = 0; j <= b.length(); j++) {
+                previous[j] = j;
+            }
+            for (int i = 1; i <= a.length(); i++) {
+                current[0] = i;
+                for (int j = 1; j <= b.length(); j++) {
+                    int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                    current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                }
+                int[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return previous[b.length()];
+        }
+
+        // American Soundex: the first letter and up to three consonant-group digits, e.g. "tymczak" -> "t522".
+        static String soundex(String name) {
+            StringBuilder code = new StringBuilder(4);
+            char last = 0;
+            for (int i = 0; i < name.length() && code.length() < 4; i++) {
+                char c = Character.toLowerCase(name.charAt(i));
+                if (c < 'a' || c > 'z') {
+                    continue;
+                }
+                char digit = "01230120022455012623010202".charAt(c - 'a');
+                if (code.length() == 0) {
+                    code.append(c);
+                } else if (digit != '0' && digit != last) {
+                    code.append(digit);
+                }
+                // h and w do not separate letters with the same code; vowels do
+                if (c != 'h' && c != 'w') {
+                    last = digit;
+                }
+            }
+            while (code.length() > 0 && code.length() < 4) {
+                code.append('0');
+            }
+            return code.toString();
+        }
+
+        List<SortedIntSet> matching(String query) {
+            if (query.isEmpty()) {
+                return new ArrayList<>(postings.values());
+            }
+            if (query.length() <= GRAM) {
+                return grams.getOrDefault(query, Set.of()).stream().map(postings::get).toList();
+            }
+            // narrow down by the rarest trigram, then confirm the full substring on the few names left
+            Set<String> candidates = IntStream.rangeClosed(0, query.length() - GRAM)
+                    .mapToObj(i -> grams.getOrDefault(query.substring(i, i + GRAM), Set.of()))
+                    .min(Comparator.comparingInt(Set::size))
+                    .orElse(Set.of());
+            return candidates.stream()
+                    .filter(name -> name.contains(query))
+                    .map(postings::get)
+                    .toList();
+        }
+
+        // Burkhard-Keller tree: each child hangs off its parent at their edit distance, so by the triangle
+        // inequality a search only descends into children within maxDistance of the query's distance there.
+        private static class BkTree {
+            private Node root;
+
+            private static final class Node {
+                final String name;
+                final Map<Integer, Node> children = new HashMap<>();
+
+                Node(String name) {
+                    this.name = name;
+                }
+            }
+
+            void add(String name) {
+                if (root == null) {
+                    root = new Node(name);
+                    return;
+                }
+                Node node = root;
+                while (true) {
+                    int distance = editDistance(name, node.name);
+                    if (distance == 0) {
+                        return;
+                    }
+                    Node child = node.children.get(distance);
+                    if (child == null) {
+                        node.children.put(distance, new Node(name));
+                        return;
+                    }
+                    node = child;
+                }
+            }
+
+            void search(String query, int maxDistance, ObjIntConsumer<String> found) {
+                Deque<Node> pending = new ArrayDeque<>();
+                if (root != null) {
+                    pending.push(root);
+                }
+                while (!pending.isEmpty()) {
+                    Node node = pending.pop();
+                    int distance = editDistance(query, node.name);
+                    if (distance <= maxDistance) {
+                        found.accept(node.name, distance);
+                    }
+                    node.children.forEach((childDistance, child) -> {
+                        if (Math.abs(childDistance - distance) <= maxDistance) {
+                            pending.push(child);
+                        }
+                    });
+                }
+            }
+        }
+
+        private static Set<String> grams(String name) {
+            Set<String> result = new HashSet<>();
+            for (int length = 1; length <= GRAM; length++) {
+                for (int i = 0; i + length <= name.length(); i++) {
+                    result.add(name.substring(i, i + length));
+                }
+            }
+            return result;
+        }
+    }
+}
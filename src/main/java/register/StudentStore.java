@@ -0,0 +1,124 @@
+package register;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Register storage indexed directly by student number. Numbers are handed out in order, so slot order is
+// register order: removal leaves a null tombstone and a replacement overwrites its slot, both in O(1).
+// Tombstones ahead of the first live student are reclaimed by sliding the window once they fill half of it.
+class StudentStore extends AbstractCollection<Student> implements StudentTable {
+    private Student[] slots = new Student[16];
+    private int base = 1;
+    private int head;
+    private int end;
+    private int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Student get(int studentNumber) {
+        long slot = (long) studentNumber - base;
+        return slot < 0 || slot >= end ? null : slots[(int) slot];
+    }
+
+    // Inserts a new student or replaces the one with the same number in place.
+    @Override
+    public Student put(Student student) {
+        int slot = slotFor(student.studentNumber());
+        Student previous = slots[slot];
+        slots[slot] = student;
+        end = Math.max(end, slot + 1);
+        head = Math.min(head, slot);
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    @Override
+    public Student remove(int studentNumber) {
+        long slot = (long) studentNumber - base;
+        if (slot < 0 || slot >= end || slots[(int) slot] == null) {
+            return null;
+        }
+        Student removed = slots[(int) slot];
+        slots[(int) slot] = null;
+        size--;
+        compactHead();
+        return removed;
+    }
+
+    @Override
+    public Iterator<Student> iterator() {
+        return new Iterator<>() {
+            private int next = advance(head);
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public Student next() {
+                if (next >= end) {
+                    throw new NoSuchElementException();
+                }
+                Student student = slots[next];
+                next = advance(next + 1);
+                return student;
+            }
+
+            private int advance(int slot) {
+                while (slot < end && slots[slot] == null) {
+                    slot++;
+                }
+                return slot;
+            }
+        };
+    }
+
+    private int slotFor(int studentNumber) {
+        if (size == 0) {
+            Arrays.fill(slots, 0, end, null);
+            base = studentNumber;
+            head = 0;
+            end = 0;
+        } else if (studentNumber < base) {
+            // numbers older than the window only arrive when loading out of order; widen the window downwards
+            int shift = base - studentNumber;
+            Student[] widened = new Student[Math.max(slots.length, end + shift)];
+            System.arraycopy(slots, 0, widened, shift, end);
+            slots = widened;
+            base = studentNumber;
+            head = 0;
+            end += shift;
+        }
+        long slot = (long) studentNumber - base;
+        if (slot >= slots.length) {
+            if (slot >= Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Student number " + studentNumber + " is too far from " + base + ".");
+            }
+            slots = Arrays.copyOf(slots, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(slot + 1, 2L * slots.length)));
+        }
+        return (int) slot;
+    }
+
+    private void compactHead() {
+        while (head < end && slots[head] == null) {
+            head++;
+        }
+        if (head < slots.length / 2) {
+            return;
+        }
+        System.arraycopy(slots, head, slots, 0, end - head);
+        Arrays.fill(slots, Math.max(head, end - head), end, null);
+        base += head;
+        end -= head;
+        head = 0;
+    }
+}
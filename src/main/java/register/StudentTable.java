@@ -0,0 +1,14 @@
+package register;
+
+import java.util.Collection;
+
+// Where the console register keeps its students, by student number and iterated in register order.
+// StudentStore holds the Student objects themselves; GradeStore keeps them column-wise and builds them on demand.
+interface StudentTable extends Collection<Student> {
+    Student get(int studentNumber);
+
+    // Inserts a new student or replaces the one with the same number, returning the one replaced or null.
+    Student put(Student student);
+
+    Student remove(int studentNumber);
+}
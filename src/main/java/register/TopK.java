@@ -0,0 +1,91 @@
+package register;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Bounded min-heap keeping the k highest scores; ties go to the lower student number.
+class TopK {
+    private final int k;
+    private final double[] scores;
+    private final int[] studentNumbers;
+    private int size;
+
+    TopK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Cannot keep the top " + k + " students.");
+        }
+        this.k = k;
+        this.scores = new double[k];
+        this.studentNumbers = new int[k];
+    }
+
+    public void offer(double score, int studentNumber) {
+        if (size < k) {
+            scores[size] = score;
+            studentNumbers[size] = studentNumber;
+            siftUp(size++);
+        } else if (k > 0 && ranksAbove(score, studentNumber, 0)) {
+            scores[0] = score;
+            studentNumbers[0] = studentNumber;
+            siftDown(0);
+        }
+    }
+
+    public TopK merge(TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.scores[i], other.studentNumbers[i]);
+        }
+        return this;
+    }
+
+    public List<RankedStudent> ranked() {
+        List<RankedStudent> ranked = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ranked.add(new RankedStudent(studentNumbers[i], scores[i]));
+        }
+        ranked.sort(Comparator.comparingDouble(RankedStudent::score).reversed()
+                .thenComparingInt(RankedStudent::studentNumber));
+        return ranked;
+    }
+
+    private boolean ranksAbove(double score, int studentNumber, int slot) {
+        return score > scores[slot] || (score == scores[slot] && studentNumber < studentNumbers[slot]);
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (!ranksAbove(scores[parent], studentNumbers[parent], slot)) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int lowest = slot;
+            for (int child = 2 * slot + 1; child <= 2 * slot + 2 && child < size; child++) {
+                if (ranksAbove(scores[lowest], studentNumbers[lowest], child)) {
+                    lowest = child;
+                }
+            }
+            if (lowest == slot) {
+                return;
+            }
+            swap(slot, lowest);
+            slot = lowest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+        int studentNumber = studentNumbers[a];
+        studentNumbers[a] = studentNumbers[b];
+        studentNumbers[b] = studentNumber;
+    }
+}
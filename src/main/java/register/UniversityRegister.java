@@ -0,0 +1,743 @@
+package register;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+class UniversityRegister {
+    // pass -Dregister.store=columnar to keep the students column-wise and build them only when they are used
+    private static final StudentTable students = "columnar".equals(System.getProperty("register.store"))
+            ? new GradeStore() : new StudentStore();
+    private static final StudentIndex index = new StudentIndex(students::get);
+    // over a GradeStore the rosters look students up as well, so the store is the only thing holding them
+    private static final CourseRoster rosters = students instanceof GradeStore
+            ? new CourseRoster(students::get) : new CourseRoster();
+    private static int studentCounter = 1;
+    private static final Scanner scanner = new Scanner(System.in);
+    private static final Path REGISTER_FILE = Path.of("register.dat");
+    private static final Path JOURNAL_FILE = Path.of("register.journal");
+    private static final int SNAPSHOT_INTERVAL = 10_000;
+    private static final int BATCH_SIZE = 50_000;
+    private static final int PAGE_SIZE = 20;
+    private static RegisterJournal journal;
+    // set when serving over HTTP, in which case the concurrent register replaces the console's collections
+    private static volatile ConcurrentRegister served;
+    private static final RegisterMetrics metrics = new RegisterMetrics(
+            () -> served == null ? students.size() : served.size(),
+            () -> served == null ? rosters.sizes() : served.courseSizes());
+    static final String[] FIRST_NAMES = {
+            "Alice", "Bob", "Charlie", "David", "Emma", "Frank", "Grace", "Henry", "Ivy", "Jack",
+            "Katherine", "Leo", "Mia", "Nathan", "Olivia", "Peter", "Quinn", "Rachel", "Samuel", "Taylor",
+            "Ursula", "Victor", "Wendy", "Xander", "Yvonne", "Zane", "Sophia", "Liam", "Ava", "Noah"
+    };
+    static final String[] SURNAMES = {
+            "Smith", "Johnson", "Williams", "Jones", "Brown", "Davis", "Miller", "Wilson", "Moore", "Taylor",
+            "Anderson", "Thomas", "Jackson", "White", "Harris", "Martin", "Thompson", "Garcia", "Martinez", "Robinson",
+            "Clark", "Rodriguez", "Lewis", "Lee", "Walker", "Hall", "Allen", "Young", "Hernandez", "King"
+    };
+
+    public static void main(String[] args) {
+        metrics.registerMBean();
+        // pass -Dregister.metrics.interval=<seconds> to append a metrics snapshot to register-metrics.log
+        long metricsInterval = Long.getLong("register.metrics.interval", 0);
+        if (metricsInterval > 0) {
+            metrics.dumpPeriodically(Path.of("register-metrics.log"), metricsInterval);
+        }
+        if (args.length >= 1 && args[0].equals("--serve")) {
+            serve(args.length > 1 ? Integer.parseInt(args[1]) : 8080);
+            return;
+        }
+        if (args.length >= 1 && args[0].equals("--load")) {
+            runLoadGenerator(args.length > 1 ? Integer.parseInt(args[1]) : 8080,
+                    args.length > 2 ? Integer.parseInt(args[2]) : 100_000,
+                    args.length > 3 ? Integer.parseInt(args[3]) : 1_000);
+            return;
+        }
+        loadRegister();
+
+        if (args.length == 2 && args[0].equals("--batch")) {
+            applyGradeBatch(Path.of(args[1]));
+            saveRegister();
+            closeJournal();
+            return;
+        }
+        if (args.length >= 1 && args[0].equals("--analytics")) {
+            printAnalytics(args.length > 1 ? Integer.parseInt(args[1]) : 5);
+            closeJournal();
+            return;
+        }
+        if (args.length == 3 && args[0].equals("--report")) {
+            writeCourseReport(args[1], Path.of(args[2]));
+            closeJournal();
+            return;
+        }
+
+        System.out.print("Do you want to generate students? (y/n): ");
+        String generateStudentsOption = scanner.nextLine().trim().toLowerCase();
+
+
+        if (generateStudentsOption.equals("y")) {
+            int numberOfStudents = promptNumberOfStudents();
+            generateInitialStudents(numberOfStudents);
+            saveRegister();
+        }
+        while (true) {
+            System.out.println("University Register Menu:");
+            System.out.println("1. Add a new student");
+            System.out.println("2. Search for a student");
+            System.out.println("3. Display students on a course");
+            System.out.println("4. Remove a student");
+            System.out.println("5. Exit");
+            System.out.print("Enter your choice (1-5): ");
+
+            int choice = scanner.nextInt();
+            scanner.nextLine(); // Consume the newline character
+
+            switch (choice) {
+                case 1 -> addNewStudent();
+                case 2 -> searchStudent();
+                case 3 -> displayStudentsOnCourse();
+                case 4 -> removeStudent();
+                case 5 -> {
+                    saveRegister();
+                    closeJournal();
+                    System.out.println("Exiting program. Goodbye!");
+                    System.exit(0);
+                }
+                default -> System.out.println("Invalid choice. Please enter a number between 1 and 5.");
+            }
+        }
+    }
+
+    private static void loadRegister() {
+        loadRegister(UniversityRegister::registerAll, UniversityRegister::replace, UniversityRegister::unregister);
+    }
+
+    // Every saved student is decoded and indexed up front, as the name index and rosters need every name and
+    // grade; the mapped file only makes the read cheap and lets the decoding run in parallel.
+    private static void loadRegister(Consumer<List<Student>> addAll, Consumer<Student> put, IntConsumer remove) {
+        try {
+            if (Files.exists(REGISTER_FILE)) {
+                MappedRegister saved = RegisterFile.open(REGISTER_FILE);
+                addAll.accept(saved.decodeAll());
+                studentCounter = saved.nextStudentNumber();
+                System.out.println("Loaded " + saved.size() + " students from " + REGISTER_FILE + ".");
+            }
+            journal = RegisterJournal.open(JOURNAL_FILE, student -> {
+                put.accept(student);
+                studentCounter = Math.max(studentCounter, student.studentNumber() + 1);
+            }, remove);
+            if (journal.entries() > 0) {
+                System.out.println("Replayed " + journal.entries() + " changes from " + JOURNAL_FILE + ".");
+            }
+        } catch (IOException e) {
+            System.out.println("Could not load the saved register: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void saveRegister() {
+        saveRegister(students, studentCounter);
+    }
+
+    private static void saveRegister(Collection<Student> students, int nextStudentNumber) {
+        try {
+            writeRegister(students, nextStudentNumber);
+            journal.truncate();
+        } catch (IOException e) {
+            System.out.println("Could not save the register: " + e.getMessage());
+        }
+    }
+
+    private static void writeRegister(Collection<Student> students, int nextStudentNumber) throws IOException {
+        RegisterFile.write(REGISTER_FILE, students, nextStudentNumber);
+        System.out.println("Saved " + students.size() + " students to " + REGISTER_FILE + ".");
+    }
+
+    // Serves the register over HTTP until the process is stopped, then snapshots it like the console's exit.
+    private static void serve(int port) {
+        ConcurrentRegister register = new ConcurrentRegister(1);
+        loadRegister(register::putAll, register::put, register::remove);
+        // the saved counter also covers students removed before the snapshot, which put alone cannot see
+        register.advanceNextStudentNumber(studentCounter);
+        served = register;
+        try {
+            RegisterService service = new RegisterService(register, journal, metrics, port, SNAPSHOT_INTERVAL,
+                    UniversityRegister::writeRegister);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                service.close();
+                closeJournal();
+            }, "register-shutdown"));
+            service.start();
+            System.out.println("Serving " + register.size() + " students on http://localhost:" + service.port()
+                    + "/ (press Ctrl+C to stop).");
+        } catch (IOException e) {
+            System.out.println("Could not start the register service: " + e.getMessage());
+            closeJournal();
+        }
+    }
+
+    private static void runLoadGenerator(int port, int requests, int concurrency) {
+        try {
+            new RegisterLoadGenerator(port, createCourses()).run(requests, concurrency);
+        } catch (IOException e) {
+            System.out.println("Could not reach the register service on port " + port + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeJournal() {
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Could not close the journal: " + e.getMessage());
+        }
+    }
+
+    // Writes the change ahead of applying it; returns false if it could not be made durable. Callers compact
+    // the journal only once the change is applied, so a snapshot never leaves out a change it truncates.
+    private static boolean journalPut(Student student) {
+        try {
+            journal.put(student);
+        } catch (IOException e) {
+            System.out.println("Could not record the change: " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean journalRemove(int studentNumber) {
+        try {
+            journal.remove(studentNumber);
+        } catch (IOException e) {
+            System.out.println("Could not record the change: " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private static void compactJournalIfNeeded() {
+        if (journal.entries() >= SNAPSHOT_INTERVAL) {
+            saveRegister();
+        }
+    }
+
+    private static void applyGradeBatch(Path file) {
+        metrics.timed(RegisterMetrics.Operation.GRADE_BATCH, () -> applyGrades(file));
+    }
+
+    private static void applyGrades(Path file) {
+        long appliedGrades = 0;
+        long updatedStudents = 0;
+        try (GradeBatchReader reader = new GradeBatchReader(file)) {
+            for (Map<Integer, List<GradeUpdate>> batch = reader.nextBatch(BATCH_SIZE); !batch.isEmpty(); batch = reader.nextBatch(BATCH_SIZE)) {
+                List<Student> updated = new ArrayList<>();
+                for (Map.Entry<Integer, List<GradeUpdate>> entry : batch.entrySet()) {
+                    Student student = index.get(entry.getKey());
+                    if (student == null) {
+                        entry.getValue().forEach(update -> reader.reject("No student with number " + entry.getKey()
+                                + " for " + update.courseName() + " / " + update.moduleName()));
+                        continue;
+                    }
+                    List<GradeUpdate> known = new ArrayList<>();
+                    for (GradeUpdate update : entry.getValue()) {
+                        if (student.hasModule(update.courseName(), update.moduleName())) {
+                            known.add(update);
+                        } else {
+                            reader.reject("Student " + student.studentNumber() + " is not taking "
+                                    + update.courseName() + " / " + update.moduleName());
+                        }
+                    }
+                    if (!known.isEmpty()) {
+                        updated.add(student.updateGrades(known));
+                        appliedGrades += known.size();
+                    }
+                }
+                // the whole batch shares one journal commit before it is applied
+                journal.putAll(updated);
+                updated.forEach(UniversityRegister::replace);
+                updatedStudents += updated.size();
+            }
+            reader.problems().forEach(System.out::println);
+            System.out.println("Applied " + appliedGrades + " grades to " + updatedStudents + " students from " + file
+                    + " (" + reader.rejectedLines() + " rejected).");
+        } catch (IOException e) {
+            System.out.println("Could not apply the grade batch: " + e.getMessage());
+        }
+    }
+
+    private static int promptNumberOfStudents() {
+        System.out.print("How many students would you like to generate? Enter a number: ");
+        while (true) {
+            try {
+                int numberOfStudents = Integer.parseInt(scanner.nextLine());
+                if (numberOfStudents > 0) {
+                    return numberOfStudents;
+                } else {
+                    System.out.println("Please enter a positive whole number greater than 0.");
+                }
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid input. Please enter a valid integer.");
+            }
+        }
+    }
+
+    private static void removeStudent() {
+        System.out.print("Enter the student number to remove: ");
+        int studentNumberToRemove = scanner.nextInt();
+        scanner.nextLine(); // Consume the newline character
+
+        metrics.timed(RegisterMetrics.Operation.REMOVE_STUDENT, () -> {
+            if (index.get(studentNumberToRemove) == null) {
+                System.out.println("No student found with the given student number.");
+            } else if (journalRemove(studentNumberToRemove)) {
+                unregister(studentNumberToRemove);
+                System.out.println("Student removed successfully!");
+            }
+        });
+        compactJournalIfNeeded();
+    }
+
+    private static void register(Student student) {
+        students.put(student);
+        index.add(student);
+        rosters.add(student);
+    }
+
+    // Registers many students at once, building the index and rosters in bulk.
+    private static void registerAll(List<Student> added) {
+        for (Student student : added) {
+            Student previous = students.put(student);
+            if (previous != null) {
+                index.remove(previous);
+                rosters.remove(previous);
+            }
+        }
+        index.addAll(added);
+        rosters.addAll(added);
+    }
+
+    // Swaps the student in place, so the register keeps its order.
+    private static void replace(Student student) {
+        Student previous = students.put(student);
+        index.move(previous, student);
+        rosters.move(previous, student);
+    }
+
+    private static boolean unregister(int studentNumber) {
+        Student student = students.remove(studentNumber);
+        if (student == null) {
+            return false;
+        }
+        index.remove(student);
+        rosters.remove(student);
+        return true;
+    }
+
+    private static void generateInitialStudents(int numberOfStudents) {
+        // pass -Dregister.seed=<n> to reproduce the same generated register
+        generateInitialStudents(numberOfStudents, Long.getLong("register.seed", new Random().nextLong()));
+    }
+
+    private static void generateInitialStudents(int numberOfStudents, long seed) {
+        StudentGenerator generator = new StudentGenerator(FIRST_NAMES, SURNAMES, createCourses());
+        // claim the whole range of student numbers up front so the chunks never contend for the counter
+        int firstStudentNumber = studentCounter;
+        studentCounter += numberOfStudents;
+
+        // adding a million students one at a time took longer than generating them
+        registerAll(Arrays.asList(generator.generate(firstStudentNumber, numberOfStudents, seed)));
+    }
+
+    private static void addNewStudent() {
+        try {
+            System.out.print("Enter student's first name: ");
+            String firstName = scanner.nextLine();
+
+            System.out.print("Enter student's surname: ");
+            String surname = scanner.nextLine();
+
+            List<Course> availableCourses = createCourses();
+
+            if (availableCourses.isEmpty()) {
+                System.out.println("No available courses to enroll in. Cannot add a new student.");
+                return;
+            }
+
+            System.out.println("Available Courses:");
+            IntStream.range(0, availableCourses.size())
+                    .forEach(i -> System.out.println((i + 1) + ". " + availableCourses.get(i).getName()));
+
+            System.out.print("Enter the number of the course to enroll in: ");
+            int courseNumber;
+            while (true) {
+                try {
+                    courseNumber = Integer.parseInt(scanner.nextLine());
+                    break; // Break the loop if parsing is successful
+                } catch (NumberFormatException e) {
+                    System.out.println("Invalid input. Please enter a valid integer.");
+                }
+            }
+
+            if (courseNumber >= 1 && courseNumber <= availableCourses.size()) {
+                Course selectedCourse = availableCourses.get(courseNumber - 1);
+                Student student = new Student(studentCounter, firstName, surname, List.of(selectedCourse));
+                boolean added = metrics.timed(RegisterMetrics.Operation.ADD_STUDENT, () -> {
+                    if (!journalPut(student)) {
+                        return false;
+                    }
+                    register(student);
+                    return true;
+                });
+                if (!added) {
+                    return;
+                }
+                System.out.println("Student added successfully to course " + selectedCourse.getName() +
+                        "! Student Number: " + studentCounter);
+                studentCounter++;
+                compactJournalIfNeeded();
+            } else {
+                System.out.println("Invalid course number. The student has not been enrolled in any courses.");
+            }
+        } catch (Exception e) {
+            System.out.println("An error occurred: " + e.getMessage());
+        }
+    }
+
+    static List<Course> createCourses() {
+        // Sample courses, defined once in the shared catalogue
+        return CourseCatalogue.STANDARD.courses();
+    }
+
+
+    private static void searchStudent() {
+        System.out.println("Search Options:");
+        System.out.println("1. Search by first name");
+        System.out.println("2. Search by last name");
+        System.out.println("3. Search by student number");
+        System.out.print("Enter your search option (1-3): ");
+
+        int searchOption = scanner.nextInt();
+        scanner.nextLine(); // Consume the newline character
+
+        switch (searchOption) {
+            case 1 -> searchStudentByFirstName();
+            case 2 -> searchStudentByLastName();
+            case 3 -> searchStudentByStudentNumber();
+            default -> System.out.println("Invalid search option. Please enter a number between 1 and 3.");
+        }
+    }
+
+    private static void searchStudentByFirstName() {
+        System.out.print("Enter student's first name to search: ");
+        String searchFirstName = scanner.nextLine().toLowerCase();
+
+        //search to see if what user entered is the name or contained in the name or a single letter that starts the name
+
+        Matches found = search(() -> index.searchFirstName(searchFirstName), () -> index.fuzzySearchFirstName(searchFirstName));
+        if (found.similar()) {
+            System.out.println("No exact matches. Showing students with similar first names, closest first.");
+        }
+
+        displaySearchResults(found.students());
+    }
+
+    private static void searchStudentByLastName() {
+        System.out.print("Enter student's last name to search: ");
+        String searchLastName = scanner.nextLine().toLowerCase();
+
+
+        //search to see if what user entered is the last name or contained in the last name or a single letter that starts the last name
+
+        Matches found = search(() -> index.searchSurname(searchLastName), () -> index.fuzzySearchSurname(searchLastName));
+        if (found.similar()) {
+            System.out.println("No exact matches. Showing students with similar surnames, closest first.");
+        }
+
+        displaySearchResults(found.students());
+    }
+
+    // similar is set when there was no exact match and the students are those with names a typo or two away
+    private record Matches(List<Student> students, boolean similar) {
+    }
+
+    private static Matches search(Supplier<List<Student>> exact, Supplier<List<Student>> fuzzy) {
+        return metrics.timed(RegisterMetrics.Operation.SEARCH_STUDENT, () -> {
+            List<Student> found = exact.get();
+            if (!found.isEmpty()) {
+                return new Matches(found, false);
+            }
+            List<Student> similar = fuzzy.get();
+            return new Matches(similar, !similar.isEmpty());
+        });
+    }
+
+    private static void searchStudentByStudentNumber() {
+        System.out.print("Enter student number to search: ");
+        int searchStudentNumber = scanner.nextInt();
+
+        Optional<Student> foundStudent = metrics.timed(RegisterMetrics.Operation.SEARCH_STUDENT,
+                () -> Optional.ofNullable(index.get(searchStudentNumber)));
+
+        foundStudent.ifPresentOrElse(
+                student -> {
+                    student.displayEnrolledCourses();
+                    System.out.print("Do you want to enter grades for this student? (y/n): ");
+                    String input = scanner.next();
+                    if (input.equalsIgnoreCase("y")) {
+                        enterGradesForStudent(student);
+                    }
+                },
+                () -> System.out.println("No student found with the given student number.")
+        );
+    }
+
+    private static void displaySearchResults(List<Student> foundStudents) {
+        if (foundStudents.isEmpty()) {
+            System.out.println("No students found with the given criteria.");
+        } else if (foundStudents.size() == 1) {
+            foundStudents.forEach(student -> {
+                student.displayEnrolledCourses();
+                if (askUserToEnterGrades()) {
+                    enterGradesForStudent(student);
+                }
+            });
+        } else {
+            System.out.println("Multiple students found. Please select a student by entering the student number.");
+            foundStudents.forEach(student -> System.out.println(student.studentNumber() + ": " +
+                    student.firstName() + " " + student.surname()));
+            System.out.print("Enter the student number: ");
+            int selectedStudentNumber = scanner.nextInt();
+            Optional<Student> selectedStudent = foundStudents.stream()
+                    .filter(student -> student.studentNumber() == selectedStudentNumber)
+                    .findFirst();
+            selectedStudent.ifPresentOrElse(
+                    student -> {
+                        student.displayEnrolledCourses();
+                        if (askUserToEnterGrades()) {
+                            enterGradesForStudent(student);
+                        }
+                    },
+                    () -> System.out.println("Invalid student number. Grades not updated.")
+            );
+        }
+    }
+    private static boolean askUserToEnterGrades() {
+        System.out.print("Would you like to enter grades for this student? (y/n): ");
+        String response = scanner.next().trim().toLowerCase();
+        scanner.nextLine(); // Consume the newline character
+        return response.equals("y");
+    }
+
+    private static void enterGradesForStudent(Student student) {
+        System.out.println("Enter grades for the student:");
+
+        List<GradeUpdate> updates = new ArrayList<>();
+        for (Course course : student.enrolledCourses()) {
+            System.out.println("Course: " + course.getName());
+            for (Module module : course.modules()) {
+                System.out.print("Enter grade for module " + module.getName() + ": ");
+                int grade = scanner.nextInt();
+                while (grade < 0 || grade > 100) {
+                    System.out.print("Please enter a grade between 0 and 100: ");
+                    grade = scanner.nextInt();
+                }
+                updates.add(new GradeUpdate(course.getName(), module.getName(), grade));
+            }
+        }
+
+        // Update the student in the register
+        Student updatedStudent = student.updateGrades(updates);
+        metrics.timed(RegisterMetrics.Operation.ENTER_GRADES, () -> {
+            if (journalPut(updatedStudent)) {
+                replace(updatedStudent);
+                System.out.println("Grades updated successfully!");
+            }
+        });
+        compactJournalIfNeeded();
+    }
+
+    private static void displayStudentsOnCourse() {
+        System.out.print("Enter the name of the course to display students: ");
+        String courseName = scanner.nextLine();
+
+        System.out.println("Sort Options:");
+        System.out.println("1. Display alphabetically by surname");
+        System.out.println("2. Display by highest grade on course");
+        System.out.println("3. Display by lowest grade on course");
+        System.out.println("4. Display top students on course");
+        System.out.print("Enter your sort option (1-4): ");
+        int sortOption = scanner.nextInt();
+        scanner.nextLine(); // Consume the newline character
+        int numberOfTopStudents = sortOption == 4 ? promptNumberOfTopStudents() : Integer.MAX_VALUE;
+
+        CourseRoster.Order order = switch (sortOption) {
+            case 1 -> CourseRoster.Order.ALPHABETICAL;
+            case 3 -> CourseRoster.Order.LOWEST_GRADE;
+            default -> CourseRoster.Order.HIGHEST_GRADE;
+        };
+        boolean validOption = sortOption >= 1 && sortOption <= 4;
+        // one sample per display: the summary and the first page, or the top students, are fetched together
+        // and the further pages the user asks for are timed as COURSE_PAGE
+        record Display(GradeSummary summary, CourseRoster.Page firstPage) {
+        }
+        Display display = metrics.timed(RegisterMetrics.Operation.DISPLAY_COURSE, () -> {
+            if (rosters.size(courseName) == 0) {
+                return null;
+            }
+            return new Display(rosters.summary(courseName), validOption
+                    ? rosters.page(courseName, order, null, 0, sortOption == 4 ? numberOfTopStudents : PAGE_SIZE)
+                    : null);
+        });
+        if (display == null) {
+            System.out.println("No students found on the specified course.");
+            return;
+        }
+        GradeSummary summary = display.summary();
+        CourseRoster.Page firstPage = display.firstPage();
+        System.out.println("Students on course " + courseName + ":");
+        System.out.println("Course average grade: " + String.format("%.2f", summary.average())
+                + " (lowest " + summary.min() + ", highest " + summary.max() + ")");
+
+        switch (sortOption) {
+            case 1 -> displayCoursePages(courseName, order, firstPage, "Students displayed alphabetically by surname:");
+            case 2 -> displayCoursePages(courseName, order, firstPage,
+                    "Students sorted by highest grade on course " + courseName + ":");
+            case 3 -> displayCoursePages(courseName, order, firstPage,
+                    "Students sorted by lowest grade on course " + courseName + ":");
+            case 4 -> displayStudentsByHighestGrade(firstPage.entries(), courseName);
+            default -> System.out.println("Invalid sort option. Please enter 1, 2, 3 or 4.");
+        }
+    }
+
+    // Shows a screenful at a time; each further page carries on from the last student shown.
+    private static void displayCoursePages(String courseName, CourseRoster.Order order, CourseRoster.Page firstPage,
+                                           String heading) {
+        ReportWriter report = new ReportWriter(System.out);
+        report.text(heading).newLine();
+        CourseRoster.Page page = firstPage;
+        while (true) {
+            writeCourseEntries(report, page.entries());
+            report.flush();
+            CourseRoster.ListingKey after = page.next();
+            if (after == null || !askToShowMore()) {
+                return;
+            }
+            page = metrics.timed(RegisterMetrics.Operation.COURSE_PAGE, () -> rosters.page(courseName, order, after, 0, PAGE_SIZE));
+        }
+    }
+
+    private static boolean askToShowMore() {
+        System.out.print("Show the next " + PAGE_SIZE + " students? (y/n): ");
+        return scanner.nextLine().trim().equalsIgnoreCase("y");
+    }
+
+    private static int promptNumberOfTopStudents() {
+        System.out.print("How many students would you like to display? Enter a number: ");
+        while (true) {
+            try {
+                int numberOfStudents = Integer.parseInt(scanner.nextLine());
+                if (numberOfStudents > 0) {
+                    return numberOfStudents;
+                } else {
+                    System.out.println("Please enter a positive whole number greater than 0.");
+                }
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid input. Please enter a valid integer.");
+            }
+        }
+    }
+
+    private static void displayStudentsByHighestGrade(List<CourseRoster.Listed> sortedStudents, String courseName) {
+        ReportWriter report = new ReportWriter(System.out);
+        writeCourseListing(report, "Students sorted by highest grade on course " + courseName + ":", sortedStudents);
+        report.flush();
+    }
+
+    static void writeCourseListing(ReportWriter report, String heading, Iterable<CourseRoster.Listed> sortedStudents) {
+        report.text(heading).newLine();
+        writeCourseEntries(report, sortedStudents);
+    }
+
+    static void writeCourseEntries(ReportWriter report, Iterable<CourseRoster.Listed> sortedStudents) {
+        sortedStudents.forEach(listed -> report
+                .text("Name: ").text(listed.student().getFirstName()).text(" ").text(listed.student().getSurname())
+                .text(", Student Number: ").number(listed.student().studentNumber())
+                .text(", Average Grade: ").grade(listed.average())
+                .newLine()
+                .newLine());
+    }
+
+    private static void printAnalytics(int topK) {
+        if (topK < 0) {
+            System.out.println("The number of top students must be 0 or more.");
+            return;
+        }
+        GradeAnalytics.Report analytics = GradeAnalytics.analyse(List.copyOf(students), topK);
+        ReportWriter report = new ReportWriter(System.out);
+        report.text("Course statistics:").newLine();
+        analytics.courses().values().forEach(statistics -> writeStatistics(report, statistics));
+        report.text("Module statistics:").newLine();
+        analytics.modules().values().forEach(statistics -> writeStatistics(report, statistics));
+        report.flush();
+    }
+
+    private static void writeStatistics(ReportWriter report, GradeStatistics statistics) {
+        report.text(statistics.name()).text(": ").number(statistics.count()).text(" grades").newLine()
+                .text("  Mean: ").grade(statistics.mean())
+                .text(", Standard Deviation: ").grade(statistics.standardDeviation())
+                .text(", Pass Rate: ").grade(statistics.passRate() * 100).text("%").newLine()
+                .text("  Min: ").number(statistics.min())
+                .text(", 25th: ").number(statistics.percentile(25))
+                .text(", Median: ").number(statistics.median())
+                .text(", 75th: ").number(statistics.percentile(75))
+                .text(", 90th: ").number(statistics.percentile(90))
+                .text(", Max: ").number(statistics.max()).newLine()
+                .text("  Distribution:");
+        long[] histogram = statistics.histogram();
+        for (int band = 0; band < histogram.length; band += 10) {
+            long inBand = 0;
+            for (int grade = band; grade < Math.min(band + 10, histogram.length); grade++) {
+                inBand += histogram[grade];
+            }
+            if (inBand > 0) {
+                report.text(" ").number(band).text("-").number(Math.min(band + 9, histogram.length - 1)).text(": ").number(inBand);
+            }
+        }
+        report.newLine().text("  Top:");
+        statistics.top().forEach(ranked -> report.text(" #").number(ranked.studentNumber())
+                .text(" (").grade(ranked.score()).text(")"));
+        report.newLine();
+    }
+
+    private static void writeCourseReport(String courseName, Path file) {
+        if (rosters.size(courseName) == 0) {
+            System.out.println("No students found on the specified course.");
+            return;
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            ReportWriter report = new ReportWriter(out);
+            writeCourseListing(report, "Students sorted by highest grade on course " + courseName + ":",
+                    rosters.listing(courseName, CourseRoster.Order.HIGHEST_GRADE));
+            report.flush();
+            System.out.println("Wrote " + rosters.size(courseName) + " students on " + courseName + " to " + file + ".");
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Could not write the report: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentRegisterTest {
+    @Test
+    void keepsTheSavedCounterAboveTheHighestLoadedStudent() {
+        // student 3 was the last added but has since been removed, so the snapshot says 4
+        ConcurrentRegister register = new ConcurrentRegister(1);
+        register.put(RegisterJournalTest.student(1, "Lovelace", 60));
+        register.put(RegisterJournalTest.student(2, "Hopper", 70));
+        register.advanceNextStudentNumber(4);
+        register.advanceNextStudentNumber(2);
+
+        assertEquals(4, register.nextStudentNumber());
+        assertEquals(4, register.add("Alan", "Turing", List.of()).studentNumber());
+    }
+
+    @Test
+    void writersOnOneCourseLeaveItsRosterInGradeOrder() throws InterruptedException {
+        ConcurrentRegister register = new ConcurrentRegister(1);
+        for (int number = 1; number <= 200; number++) {
+            register.put(RegisterJournalTest.student(number, "Surname" + number, 50));
+        }
+        List<Thread> writers = new ArrayList<>();
+        for (int writer = 0; writer < 4; writer++) {
+            int first = writer;
+            writers.add(new Thread(() -> {
+                for (int round = 0; round < 50; round++) {
+                    for (int number = 1 + first; number <= 200; number += 4) {
+                        int grade = (number * 7 + round) % 101;
+                        register.updateGrades(number, "physics", List.of(new Module("Mechanics", grade)));
+                    }
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        List<Student> listed = register.byLowestGrade("Physics", Integer.MAX_VALUE);
+        assertEquals(200, listed.size());
+        long sum = 0;
+        for (int i = 0; i < listed.size(); i++) {
+            Student student = listed.get(i);
+            assertEquals(register.get(student.studentNumber()).orElseThrow(), student);
+            sum += student.enrolledCourses().get(0).modules().get(0).grade();
+            if (i > 0) {
+                assertTrue(average(listed.get(i - 1)) <= average(student));
+            }
+        }
+        GradeSummary summary = register.courseSummary("PHYSICS");
+        assertEquals(200, summary.count());
+        assertEquals(sum, summary.sum());
+        assertEquals(Map.of("physics", 200), register.courseSizes());
+    }
+
+    @Test
+    void pagesNeverCatchAStudentHalfwayThroughAMove() throws InterruptedException {
+        ConcurrentRegister register = new ConcurrentRegister(1);
+        for (int number = 1; number <= 200; number++) {
+            register.put(RegisterJournalTest.student(number, "Surname" + number, 50));
+            // down to the one module the writers grade, so the course count stays put from the first read
+            register.updateGrades(number, "physics", List.of(new Module("Mechanics", 50)));
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        List<Thread> writers = new ArrayList<>();
+        for (int writer = 0; writer < 2; writer++) {
+            int first = writer;
+            writers.add(new Thread(() -> {
+                for (int round = 0; !done.get(); round++) {
+                    for (int number = 1 + first; number <= 200; number += 2) {
+                        int grade = (number * 7 + round * 13) % 101;
+                        register.updateGrades(number, "physics", List.of(new Module("Mechanics", grade)));
+                    }
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        try {
+            for (int read = 0; read < 200; read++) {
+                List<Student> listed = register.byHighestGrade("Physics", Integer.MAX_VALUE);
+                // a regrade moves the student within the listing; a snapshot still has each student exactly once
+                assertEquals(200, listed.size());
+                assertEquals(200, listed.stream().mapToInt(Student::studentNumber).distinct().count());
+                for (int i = 1; i < listed.size(); i++) {
+                    assertTrue(average(listed.get(i - 1)) >= average(listed.get(i)));
+                }
+                assertEquals(200, register.courseSummary("Physics").count());
+            }
+        } finally {
+            done.set(true);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+    }
+
+    private static double average(Student student) {
+        return student.enrolledCourses().get(0).calculateAverageGrade();
+    }
+}
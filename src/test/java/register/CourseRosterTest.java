@@ -0,0 +1,126 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseRosterTest {
+    private static final String COURSE = "Physics";
+
+    private static CourseRoster roster(int size) {
+        CourseRoster roster = new CourseRoster();
+        for (int number = 1; number <= size; number++) {
+            // few distinct averages and surnames, so pages split groups of equal keys
+            roster.add(RegisterJournalTest.student(number, "Surname" + number % 4, 40 + number % 5));
+        }
+        return roster;
+    }
+
+    private static List<Student> all(CourseRoster roster, CourseRoster.Order order) {
+        List<Student> students = new ArrayList<>();
+        roster.listing(COURSE, order).forEach(listed -> students.add(listed.student()));
+        return students;
+    }
+
+    @Test
+    void listingsAreOrderedWithTiesByStudentNumber() {
+        CourseRoster roster = roster(30);
+
+        List<Student> highest = all(roster, CourseRoster.Order.HIGHEST_GRADE);
+        for (int i = 1; i < highest.size(); i++) {
+            double previous = highest.get(i - 1).getAverageGradeForCourse(COURSE);
+            double current = highest.get(i).getAverageGradeForCourse(COURSE);
+            boolean ordered = previous > current
+                    || previous == current && highest.get(i - 1).studentNumber() < highest.get(i).studentNumber();
+            assertTrue(ordered, "position " + i);
+        }
+        List<Student> alphabetical = all(roster, CourseRoster.Order.ALPHABETICAL);
+        assertEquals("Surname0", alphabetical.get(0).getSurname());
+        assertEquals(4, alphabetical.get(0).studentNumber());
+        assertEquals(30, alphabetical.size());
+    }
+
+    @Test
+    void listsEachStudentWithTheAverageTheyAreRankedBy() {
+        CourseRoster roster = roster(12);
+        Student previous = RegisterJournalTest.student(7, "Surname3", 40 + 7 % 5);
+        roster.move(previous, RegisterJournalTest.student(7, "Surname3", 97));
+
+        CourseRoster.Page page = roster.page(COURSE, CourseRoster.Order.HIGHEST_GRADE, null, 0, 12);
+
+        assertEquals(new CourseRoster.Listed(RegisterJournalTest.student(7, "Surname3", 97), 97), page.entries().get(0));
+        for (CourseRoster.Listed listed : page.entries()) {
+            assertEquals(listed.student().getAverageGradeForCourse(COURSE), listed.average(), 1e-9);
+        }
+    }
+
+    @Test
+    void keysetPagesJoinUpToTheWholeListingInEveryOrder() {
+        CourseRoster roster = roster(47);
+        for (CourseRoster.Order order : CourseRoster.Order.values()) {
+            List<Student> paged = new ArrayList<>();
+            CourseRoster.ListingKey after = null;
+            do {
+                CourseRoster.Page page = roster.page(COURSE, order, after, 0, 5);
+                paged.addAll(page.students());
+                // keys survive being sent to a client and back
+                after = page.next() == null ? null : CourseRoster.ListingKey.parse(page.next().token());
+            } while (after != null);
+            assertEquals(all(roster, order), paged, order.name());
+        }
+    }
+
+    @Test
+    void aKeyStillResumesAfterItsStudentIsRemoved() {
+        CourseRoster roster = roster(20);
+        CourseRoster.Page first = roster.page(COURSE, CourseRoster.Order.HIGHEST_GRADE, null, 0, 6);
+        Student last = first.students().get(5);
+        roster.remove(last);
+
+        List<Student> expected = all(roster, CourseRoster.Order.HIGHEST_GRADE).subList(5, 19);
+        CourseRoster.Page rest = roster.page(COURSE, CourseRoster.Order.HIGHEST_GRADE, first.next(), 0, 20);
+
+        assertEquals(expected, rest.students());
+        assertNull(rest.next());
+    }
+
+    @Test
+    void keepsTheCourseSummaryInStepWithChanges() {
+        CourseRoster roster = new CourseRoster();
+        Student low = RegisterJournalTest.student(1, "Lovelace", 45);
+        Student high = RegisterJournalTest.student(2, "Hopper", 85);
+        roster.add(low);
+        roster.add(high);
+        assertEquals(new GradeSummary(6, 3 * 45 + 3 * 85, 45, 85), roster.summary(COURSE));
+
+        roster.remove(high);
+        roster.add(RegisterJournalTest.student(2, "Hopper", 60));
+        assertEquals(new GradeSummary(6, 3 * 45 + 3 * 60, 45, 60), roster.summary(COURSE));
+
+        roster.remove(low);
+        assertEquals(new GradeSummary(3, 3 * 60, 60, 60), roster.summary("physics"));
+    }
+
+    @Test
+    void bulkAddMatchesAddingOneByOne() {
+        List<Student> students = new ArrayList<>();
+        for (int number = 1; number <= 30; number++) {
+            students.add(RegisterJournalTest.student(number, "Surname" + number % 4, 40 + number % 5));
+        }
+        CourseRoster bulk = new CourseRoster();
+        bulk.add(RegisterJournalTest.student(7, "Earlier", 90));
+        bulk.addAll(students);
+        CourseRoster single = roster(30);
+
+        for (CourseRoster.Order order : CourseRoster.Order.values()) {
+            assertEquals(all(single, order), all(bulk, order), order.name());
+        }
+        assertEquals(single.summary(COURSE), bulk.summary(COURSE));
+        assertEquals(single.sizes(), bulk.sizes());
+    }
+}
@@ -0,0 +1,43 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CourseTest {
+    @Test
+    void summaryAlwaysComesFromTheModules() {
+        List<Module> modules = List.of(new Module("Mechanics", 50), new Module("Electromagnetism", 70), new Module("Quantum Physics", 90));
+
+        Course course = new Course("Physics", modules);
+
+        assertEquals(new GradeSummary(3, 210, 50, 90), course.summary());
+        assertEquals(70.0, course.calculateAverageGrade(), 0.0);
+    }
+
+    @Test
+    void coursesWithTheSameNameAndModulesAreEqual() {
+        Course course = new Course("Physics", List.of(new Module("Mechanics", 50), new Module("Electromagnetism", 70)));
+        Course same = new Course("Physics", List.of(new Module("Mechanics", 50), new Module("Electromagnetism", 70)));
+        Course regraded = new Course("Physics", List.of(new Module("Mechanics", 50), new Module("Electromagnetism", 71)));
+
+        assertEquals(course, same);
+        assertEquals(course.hashCode(), same.hashCode());
+        assertNotEquals(course, regraded);
+    }
+
+    @Test
+    void keepsItsOwnCopyOfTheModules() {
+        List<Module> modules = new ArrayList<>(List.of(new Module("Mechanics", 50)));
+        Course course = new Course("Physics", modules);
+
+        modules.add(new Module("Electromagnetism", 100));
+
+        assertEquals(1, course.modules().size());
+        assertEquals(50.0, course.calculateAverageGrade(), 0.0);
+    }
+}
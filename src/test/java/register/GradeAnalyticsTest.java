@@ -0,0 +1,80 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GradeAnalyticsTest {
+    private static final String COURSE = "Physics";
+
+    // enough students for the pass to split into several fork/join tasks
+    private static List<Student> generate(int count) {
+        return List.of(new StudentGenerator(UniversityRegister.FIRST_NAMES, UniversityRegister.SURNAMES,
+                UniversityRegister.createCourses()).generate(1, count, 42));
+    }
+
+    @Test
+    void courseStatisticsMatchAStraightPassOverTheGrades() {
+        List<Student> students = generate(30_000);
+        List<Integer> grades = new ArrayList<>();
+        List<RankedStudent> averages = new ArrayList<>();
+        for (Student student : students) {
+            for (Course course : student.enrolledCourses()) {
+                if (course.getName().equals(COURSE)) {
+                    course.modules().forEach(module -> grades.add(module.grade()));
+                    averages.add(new RankedStudent(student.studentNumber(), course.calculateAverageGrade()));
+                }
+            }
+        }
+        int[] sorted = grades.stream().mapToInt(Integer::intValue).sorted().toArray();
+
+        GradeStatistics physics = GradeAnalytics.analyse(students, 5).courses().get(COURSE);
+
+        assertEquals(sorted.length, physics.count());
+        assertEquals(Arrays.stream(sorted).average().orElseThrow(), physics.mean(), 1e-9);
+        assertEquals(sorted[0], physics.min());
+        assertEquals(sorted[sorted.length - 1], physics.max());
+        // nearest rank: the smallest grade with at least that share of the grades at or below it
+        assertEquals(sorted[(sorted.length + 1) / 2 - 1], physics.median());
+        assertEquals(sorted[(int) Math.ceil(0.9 * sorted.length) - 1], physics.percentile(90));
+        assertEquals(averages.stream()
+                .sorted(Comparator.comparingDouble(RankedStudent::score).reversed()
+                        .thenComparingInt(RankedStudent::studentNumber))
+                .limit(5)
+                .toList(), physics.top());
+    }
+
+    @Test
+    void modulesAreReportedUnderTheirCourse() {
+        Student student = RegisterJournalTest.student(1, "Lovelace", 80);
+
+        GradeAnalytics.Report report = GradeAnalytics.analyse(List.of(student), 1);
+
+        assertEquals(List.of(COURSE), List.copyOf(report.courses().keySet()));
+        GradeStatistics mechanics = report.modules().get(COURSE + " / Mechanics");
+        assertEquals(1, mechanics.count());
+        assertEquals(List.of(new RankedStudent(1, 80)), mechanics.top());
+    }
+
+    @Test
+    void theHistogramCannotBeChangedThroughTheStatistics() {
+        GradeStatistics physics = GradeAnalytics.analyse(List.of(RegisterJournalTest.student(1, "Lovelace", 80)), 1)
+                .courses().get(COURSE);
+
+        physics.histogram()[80] = 0;
+
+        assertEquals(3, physics.histogram()[80]);
+        assertEquals(80, physics.median());
+    }
+
+    @Test
+    void rejectsANegativeTopK() {
+        assertThrows(IllegalArgumentException.class, () -> GradeAnalytics.analyse(List.of(), -1));
+    }
+}
@@ -0,0 +1,80 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradeBatchReaderTest {
+    @TempDir
+    Path directory;
+
+    private Path batch(String... lines) throws IOException {
+        return Files.write(directory.resolve("grades.csv"), List.of(lines), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void groupsEachStudentsGradesInFileOrder() throws IOException {
+        Path file = batch(
+                "# studentNumber,course,module,grade",
+                "12,Physics,Mechanics,70",
+                "",
+                "7, Computer Science , Algorithms , 88 ",
+                "12,Physics,Quantum Physics,100");
+
+        try (GradeBatchReader reader = new GradeBatchReader(file)) {
+            Map<Integer, List<GradeUpdate>> batch = reader.nextBatch(100);
+
+            assertEquals(List.of(12, 7), List.copyOf(batch.keySet()));
+            assertEquals(List.of(new GradeUpdate("Physics", "Mechanics", 70), new GradeUpdate("Physics", "Quantum Physics", 100)),
+                    batch.get(12));
+            assertEquals(List.of(new GradeUpdate("Computer Science", "Algorithms", 88)), batch.get(7));
+            assertTrue(reader.nextBatch(100).isEmpty());
+            assertEquals(0, reader.rejectedLines());
+        }
+    }
+
+    @Test
+    void splitsTheFileIntoBatchesOfAtMostTheGivenNumberOfLines() throws IOException {
+        Path file = batch("1,Physics,Mechanics,50", "2,Physics,Mechanics,51", "1,Physics,Electromagnetism,52",
+                "3,Physics,Mechanics,53", "4,Physics,Mechanics,54");
+
+        try (GradeBatchReader reader = new GradeBatchReader(file)) {
+            assertEquals(List.of(1, 2), List.copyOf(reader.nextBatch(3).keySet()));
+            assertEquals(List.of(3, 4), List.copyOf(reader.nextBatch(3).keySet()));
+            assertTrue(reader.nextBatch(3).isEmpty());
+        }
+    }
+
+    @Test
+    void countsMalformedLinesAndReportsTheFirstFewByLineNumber() throws IOException {
+        String[] lines = new String[30];
+        lines[0] = "1,Physics,Mechanics,50";
+        lines[1] = "1,Physics,Mechanics";
+        lines[2] = "x,Physics,Mechanics,50";
+        lines[3] = "1,Physics,Mechanics,101";
+        lines[4] = "0,Physics,Mechanics,50";
+        lines[5] = "1,Physics,Mechanics,-5";
+        for (int i = 6; i < lines.length; i++) {
+            lines[i] = "1,Physics,Mechanics,";
+        }
+
+        try (GradeBatchReader reader = new GradeBatchReader(batch(lines))) {
+            Map<Integer, List<GradeUpdate>> batch = reader.nextBatch(100);
+
+            assertEquals(Map.of(1, List.of(new GradeUpdate("Physics", "Mechanics", 50))), batch);
+            assertEquals(29, reader.rejectedLines());
+            assertEquals(20, reader.problems().size());
+            assertTrue(reader.problems().get(0).startsWith("Line 2: "), reader.problems().get(0));
+            assertTrue(reader.problems().get(2).contains("\"1,Physics,Mechanics,101\""), reader.problems().get(2));
+        }
+    }
+}
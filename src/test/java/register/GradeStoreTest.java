@@ -0,0 +1,132 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GradeStoreTest {
+    private static final String COURSE = "Physics";
+
+    private static Student[] generate(int count) {
+        return new StudentGenerator(UniversityRegister.FIRST_NAMES, UniversityRegister.SURNAMES,
+                UniversityRegister.createCourses()).generate(1, count, 42);
+    }
+
+    private static List<Integer> numbers(GradeStore store) {
+        List<Integer> numbers = new ArrayList<>();
+        store.forEach(student -> numbers.add(student.studentNumber()));
+        return numbers;
+    }
+
+    @Test
+    void buildsBackTheStudentsItWasGiven() {
+        Student[] students = generate(2_000);
+        GradeStore store = new GradeStore();
+        for (Student student : students) {
+            store.put(student);
+        }
+
+        assertEquals(List.of(students), new ArrayList<>(store));
+        assertEquals(students[1234], store.get(1235));
+        assertNull(store.get(2_001));
+        assertEquals(2_000, store.size());
+    }
+
+    @Test
+    void replacesInPlaceAndIteratesInNumberOrder() {
+        GradeStore store = new GradeStore();
+        for (int number = 1; number <= 5; number++) {
+            store.put(RegisterJournalTest.student(number, "Surname" + number, 50));
+        }
+        Student replacement = RegisterJournalTest.student(3, "Lovelace", 90);
+
+        assertEquals(RegisterJournalTest.student(3, "Surname3", 50), store.put(replacement));
+        assertEquals(RegisterJournalTest.student(2, "Surname2", 50), store.remove(2));
+        assertNull(store.remove(2));
+
+        assertEquals(replacement, store.get(3));
+        assertEquals(List.of(1, 3, 4, 5), numbers(store));
+        assertEquals(4, store.size());
+    }
+
+    @Test
+    void keepsEveryStudentThroughCompaction() {
+        Student[] students = generate(500);
+        GradeStore store = new GradeStore();
+        for (Student student : students) {
+            store.put(student);
+        }
+        // each round replaces every student, so the dead grades soon outnumber the live ones
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < students.length; i++) {
+                Course course = students[i].enrolledCourses().get(0);
+                List<Module> modules = course.modules().stream()
+                        .map(module -> new Module(module.getName(), (module.grade() + 7) % 101))
+                        .toList();
+                students[i] = students[i].updateGrades(course.getName(), modules);
+                store.put(students[i]);
+            }
+        }
+        for (int number = 1; number <= 10; number++) {
+            store.remove(number);
+        }
+
+        assertEquals(List.of(students).subList(10, students.length), new ArrayList<>(store));
+    }
+
+    @Test
+    void widensDownwardsForNumbersBelowTheWindow() {
+        GradeStore store = new GradeStore();
+        store.put(RegisterJournalTest.student(50, "Fifty", 50));
+        store.put(RegisterJournalTest.student(52, "FiftyTwo", 52));
+        store.put(RegisterJournalTest.student(10, "Ten", 10));
+
+        assertEquals(List.of(10, 50, 52), numbers(store));
+        assertEquals(RegisterJournalTest.student(50, "Fifty", 50), store.get(50));
+        assertNull(store.get(11));
+    }
+
+    @Test
+    void rejectsAStudentItCannotStoreWithoutChangingTheStore() {
+        GradeStore store = new GradeStore();
+        Student stored = RegisterJournalTest.student(1, "Lovelace", 60);
+        store.put(stored);
+
+        assertThrows(IllegalArgumentException.class, () -> store.put(RegisterJournalTest.student(1, "Lovelace", 300)));
+        assertEquals(stored, store.get(1));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void rostersOverTheStoreListWhatObjectRostersList() {
+        GradeStore store = new GradeStore();
+        CourseRoster lookup = new CourseRoster(store::get);
+        CourseRoster objects = new CourseRoster();
+        List<Student> loaded = List.of(generate(300));
+        loaded.forEach(store::put);
+        lookup.addAll(store);
+        objects.addAll(loaded);
+        for (int number = 1; number <= 300; number += 7) {
+            Student updated = RegisterJournalTest.student(number, "Moved" + number % 3, number % 100);
+            Student previous = store.put(updated);
+            lookup.move(previous, updated);
+            objects.move(previous, updated);
+        }
+        objects.remove(store.get(2));
+        lookup.remove(store.remove(2));
+
+        for (CourseRoster.Order order : CourseRoster.Order.values()) {
+            List<CourseRoster.Listed> expected = new ArrayList<>();
+            objects.listing(COURSE, order).forEach(expected::add);
+            List<CourseRoster.Listed> actual = new ArrayList<>();
+            lookup.listing(COURSE, order).forEach(actual::add);
+            assertEquals(expected, actual, order.name());
+        }
+        assertEquals(objects.summary(COURSE), lookup.summary(COURSE));
+    }
+}
@@ -0,0 +1,62 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntHashMapTest {
+    @Test
+    void removingFromTheMiddleOfAProbeRunKeepsTheRestReachable() {
+        IntHashMap<String> map = new IntHashMap<>();
+        // enough keys that many share a home slot and wrap around the table
+        for (int key = 1; key <= 12; key++) {
+            map.put(key, "v" + key);
+        }
+        for (int key = 1; key <= 12; key += 3) {
+            assertEquals("v" + key, map.remove(key));
+        }
+        for (int key = 1; key <= 12; key++) {
+            assertEquals(key % 3 == 1 ? null : "v" + key, map.get(key), "key " + key);
+        }
+        assertEquals(8, map.size());
+    }
+
+    @Test
+    void behavesLikeAHashMapUnderRandomPutsAndRemoves() {
+        IntHashMap<Integer> map = new IntHashMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(1, 5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = 1; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key), "key " + key);
+        }
+        List<Integer> keys = new ArrayList<>();
+        map.forEachKey(keys::add);
+        assertEquals(expected.keySet(), new HashSet<>(keys));
+    }
+
+    @Test
+    void rejectsTheReservedKey() {
+        IntHashMap<String> map = new IntHashMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, "zero"));
+        assertNull(map.remove(0));
+        assertNull(map.get(0));
+    }
+}
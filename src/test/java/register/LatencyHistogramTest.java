@@ -0,0 +1,61 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+    @Test
+    void isAllZeroUntilSomethingIsRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.meanNanos());
+        assertEquals(0, histogram.percentileNanos(99));
+        assertEquals(0, histogram.maxNanos());
+    }
+
+    @Test
+    void keepsSmallValuesExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 10; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals(10, histogram.count());
+        assertEquals(5, histogram.percentileNanos(50));
+        assertEquals(9, histogram.percentileNanos(90));
+        assertEquals(10, histogram.percentileNanos(100));
+        assertEquals(10, histogram.maxNanos());
+    }
+
+    @Test
+    void percentilesStayWithinABucketOfTheTrueValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        for (double percent : new double[] {1, 25, 50, 90, 99, 99.9}) {
+            long exact = (long) Math.ceil(percent / 100 * 10_000) * 1_000;
+            long reported = histogram.percentileNanos(percent);
+            // a bucket is 1/16 of its power of two wide and reports its highest value
+            assertTrue(reported >= exact && reported <= exact + exact / 16 + 1, percent + "%: " + reported + " for " + exact);
+        }
+        assertEquals(5_000_500, histogram.meanNanos());
+        assertEquals(10_000_000, histogram.maxNanos());
+        assertEquals(10_000_000, histogram.percentileNanos(100));
+    }
+
+    @Test
+    void countsNegativeDurationsAsZeroAndCopesWithTheLargest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0, histogram.percentileNanos(50));
+        assertEquals(Long.MAX_VALUE, histogram.percentileNanos(100));
+        assertEquals(Long.MAX_VALUE, histogram.maxNanos());
+    }
+}
@@ -0,0 +1,52 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RegisterFileTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsStudentsAndTheNextStudentNumber() throws IOException {
+        List<Student> students = new ArrayList<>(List.of(new StudentGenerator(UniversityRegister.FIRST_NAMES,
+                UniversityRegister.SURNAMES, UniversityRegister.createCourses()).generate(1, 500, 7)));
+        // names and courses from outside the catalogue go through the dictionaries too
+        students.add(new Student(900, "Zoë", "Ó Briain", List.of(new Course("Astronomy",
+                List.of(new Module("Telescopes", 0), new Module("Orbits", 100))))));
+        Path path = directory.resolve("register.dat");
+
+        RegisterFile.write(path, students, 901);
+        MappedRegister saved = RegisterFile.open(path);
+
+        assertEquals(901, saved.nextStudentNumber());
+        assertEquals(students, saved);
+        assertEquals(students, saved.decodeAll());
+        // catalogue courses come back on the shared module instances
+        Student first = saved.get(0);
+        assertSame(CourseCatalogue.STANDARD.courseName(first.enrolledCourses().get(0).getName()),
+                first.enrolledCourses().get(0).getName());
+    }
+
+    @Test
+    void leavesTheOldFileInPlaceWhenAStudentCannotBeStored() throws IOException {
+        Path path = directory.resolve("register.dat");
+        RegisterFile.write(path, List.of(new Student(1, "Ada", "Lovelace", List.of())), 2);
+        Student unstorable = new Student(2, "Alan", "Turing", List.of(new Course("Mathematics", List.of(new Module("Algebra", 300)))));
+
+        assertThrows(IllegalArgumentException.class, () -> RegisterFile.write(path, List.of(unstorable), 3));
+
+        assertEquals(1, RegisterFile.open(path).size());
+        assertEquals(List.of(path), Files.list(directory).toList());
+    }
+}
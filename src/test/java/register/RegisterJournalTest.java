@@ -0,0 +1,139 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RegisterJournalTest {
+    @TempDir
+    Path directory;
+
+    static Student student(int studentNumber, String surname, int grade) {
+        Course physics = CourseCatalogue.STANDARD.course(2);
+        List<Module> modules = physics.modules().stream()
+                .map(module -> new Module(module.getName(), grade))
+                .toList();
+        return new Student(studentNumber, "Ada", surname, List.of(CourseCatalogue.STANDARD.course(physics.getName(), modules)));
+    }
+
+    private Map<Integer, Student> replay(Path path) throws IOException {
+        Map<Integer, Student> replayed = new LinkedHashMap<>();
+        RegisterJournal.open(path, student -> replayed.put(student.studentNumber(), student), replayed::remove).close();
+        return replayed;
+    }
+
+    @Test
+    void replaysPutsAndRemovesInOrder() throws IOException {
+        Path path = directory.resolve("register.journal");
+        try (RegisterJournal journal = RegisterJournal.open(path, student -> { }, number -> { })) {
+            journal.put(student(1, "Lovelace", 60));
+            journal.put(student(2, "Hopper", 70));
+            journal.put(student(1, "Lovelace", 80));
+            journal.remove(2);
+            assertEquals(4, journal.entries());
+        }
+
+        Map<Integer, Student> replayed = replay(path);
+        assertEquals(List.of(1), new ArrayList<>(replayed.keySet()));
+        assertEquals(student(1, "Lovelace", 80), replayed.get(1));
+    }
+
+    @Test
+    void dropsATornTailAndAppendsAfterTheLastIntactEntry() throws IOException {
+        Path path = directory.resolve("register.journal");
+        try (RegisterJournal journal = RegisterJournal.open(path, student -> { }, number -> { })) {
+            journal.put(student(1, "Lovelace", 60));
+            journal.put(student(2, "Hopper", 70));
+        }
+        long intact = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            // half of a third frame: the length claims more than is there
+            channel.write(ByteBuffer.allocate(12).putInt(64).putInt(0).putInt(0).flip(), intact);
+        }
+
+        try (RegisterJournal journal = RegisterJournal.open(path, student -> { }, number -> { })) {
+            assertEquals(2, journal.entries());
+            assertEquals(intact, Files.size(path));
+            journal.put(student(3, "Turing", 90));
+        }
+        assertEquals(List.of(1, 2, 3), new ArrayList<>(replay(path).keySet()));
+    }
+
+    @Test
+    void skipsEverythingFromAFrameWithABadChecksum() throws IOException {
+        Path path = directory.resolve("register.journal");
+        try (RegisterJournal journal = RegisterJournal.open(path, student -> { }, number -> { })) {
+            journal.put(student(1, "Lovelace", 60));
+        }
+        long first = Files.size(path);
+        try (RegisterJournal journal = RegisterJournal.open(path, student -> { }, number -> { })) {
+            journal.put(student(2, "Hopper", 70));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), first + 12);
+        }
+
+        assertEquals(List.of(1), new ArrayList<>(replay(path).keySet()));
+        assertEquals(first, Files.size(path));
+    }
+
+    @Test
+    void putAllReturnsOnlyOnceTheWholeBatchIsOnDisk() throws IOException {
+        Path path = directory.resolve("register.journal");
+        List<Student> batch = new ArrayList<>();
+        for (int number = 1; number <= 50_000; number++) {
+            batch.add(student(number, "Surname" + number, number % 101));
+        }
+        try (RegisterJournal journal = RegisterJournal.open(path, student -> { }, number -> { })) {
+            journal.putAll(batch);
+
+            assertEquals(50_000, journal.entries());
+            // read a copy while the journal is still open, as a crash at this point would leave it
+            Path copy = directory.resolve("copy.journal");
+            Files.copy(path, copy);
+            assertEquals(50_000, replay(copy).size());
+        }
+    }
+
+    @Test
+    void truncateEmptiesTheJournal() throws IOException {
+        Path path = directory.resolve("register.journal");
+        try (RegisterJournal journal = RegisterJournal.open(path, student -> { }, number -> { })) {
+            journal.put(student(1, "Lovelace", 60));
+            journal.truncate();
+            assertEquals(0, journal.entries());
+            journal.put(student(2, "Hopper", 70));
+        }
+        assertEquals(List.of(2), new ArrayList<>(replay(path).keySet()));
+    }
+
+    @Test
+    void truncatingAtAMarkKeepsTheChangesAfterIt() throws IOException {
+        Path path = directory.resolve("register.journal");
+        try (RegisterJournal journal = RegisterJournal.open(path, student -> { }, number -> { })) {
+            journal.put(student(1, "Lovelace", 60));
+            journal.put(student(2, "Hopper", 70));
+            RegisterJournal.Mark mark = journal.mark();
+            journal.put(student(2, "Hopper", 75));
+            journal.remove(1);
+
+            journal.truncate(mark);
+            assertEquals(2, journal.entries());
+            journal.put(student(3, "Turing", 80));
+            assertEquals(3, journal.entries());
+        }
+        assertEquals(Map.of(2, student(2, "Hopper", 75), 3, student(3, "Turing", 80)), replay(path));
+    }
+}
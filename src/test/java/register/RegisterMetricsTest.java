@@ -0,0 +1,34 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import javax.management.ReflectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegisterMetricsTest {
+    private final RegisterMetrics metrics = new RegisterMetrics(() -> 0, Map::of);
+
+    @Test
+    void recordsOneSamplePerTimedActionEvenWhenItThrows() throws Exception {
+        assertEquals("found", metrics.timed(RegisterMetrics.Operation.SEARCH_STUDENT, () -> "found"));
+        metrics.timed(RegisterMetrics.Operation.SEARCH_STUDENT, () -> { });
+        assertThrows(IllegalStateException.class, () -> metrics.timed(RegisterMetrics.Operation.REMOVE_STUDENT, () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(2L, metrics.getAttribute("SearchStudentCount"));
+        assertEquals(1L, metrics.getAttribute("RemoveStudentCount"));
+        assertEquals(0L, metrics.getAttribute("AddStudentCount"));
+    }
+
+    @Test
+    void reportsUnknownOperationsAsAReflectionException() {
+        ReflectionException thrown = assertThrows(ReflectionException.class, () -> metrics.invoke("reset", null, null));
+        assertTrue(thrown.getTargetException() instanceof NoSuchMethodException);
+        assertEquals("reset", thrown.getTargetException().getMessage());
+    }
+}
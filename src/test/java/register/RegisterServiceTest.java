@@ -0,0 +1,126 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegisterServiceTest {
+    @TempDir
+    Path directory;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private HttpResponse<String> send(RegisterService service, String method, String path, String form)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + service.port() + path))
+                .timeout(Duration.ofSeconds(10))
+                .method(method, form == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void snapshotsEveryIntervalOfChangesAndOnceMoreOnClose() throws Exception {
+        ConcurrentRegister register = new ConcurrentRegister(1);
+        for (int number = 1; number <= 5; number++) {
+            register.put(RegisterJournalTest.student(number, "Surname" + number, 50));
+        }
+        AtomicInteger snapshots = new AtomicInteger();
+        try (RegisterJournal journal = RegisterJournal.open(directory.resolve("register.journal"), student -> { }, number -> { })) {
+            RegisterService service = new RegisterService(register, journal, new RegisterMetrics(register::size, Map::of), 0, 3,
+                    (students, nextStudentNumber) -> snapshots.incrementAndGet());
+            service.start();
+            try {
+                for (int number = 1; number <= 4; number++) {
+                    assertEquals(200, send(service, "POST", "/students/" + number + "/grades",
+                            "course=Physics&module=Mechanics&grade=70").statusCode());
+                }
+                assertEquals(204, send(service, "DELETE", "/students/5", null).statusCode());
+                assertEquals(1, snapshots.get());
+                assertEquals(2, journal.entries());
+            } finally {
+                service.close();
+            }
+            assertEquals(2, snapshots.get());
+            assertEquals(0, journal.entries());
+        }
+        assertEquals(70, register.get(4).orElseThrow().enrolledCourses().get(0).modules().get(0).grade());
+    }
+
+    @Test
+    void answersAndTakesChangesWhileASnapshotIsBeingWritten() throws Exception {
+        ConcurrentRegister register = new ConcurrentRegister(1);
+        for (int number = 1; number <= 2; number++) {
+            register.put(RegisterJournalTest.student(number, "Surname" + number, 50));
+        }
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<Student>> saved = new CopyOnWriteArrayList<>();
+        try (RegisterJournal journal = RegisterJournal.open(directory.resolve("register.journal"), student -> { }, number -> { })) {
+            RegisterService service = new RegisterService(register, journal, new RegisterMetrics(register::size, Map::of), 0, 1,
+                    (students, nextStudentNumber) -> {
+                        saved.add(students);
+                        writing.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+            service.start();
+            try {
+                // the change that tips the journal over is answered before its snapshot is written
+                assertEquals(200, send(service, "POST", "/students/1/grades", "course=Physics&module=Mechanics&grade=70").statusCode());
+                assertTrue(writing.await(10, TimeUnit.SECONDS));
+                assertEquals(200, send(service, "POST", "/students/2/grades", "course=Physics&module=Mechanics&grade=80").statusCode());
+                release.countDown();
+                // the snapshot cuts the journal back to the change made while it was written
+                for (int wait = 0; wait < 500 && journal.entries() != 1; wait++) {
+                    Thread.sleep(10);
+                }
+                assertEquals(1, journal.entries());
+                assertEquals(50, saved.get(0).get(1).enrolledCourses().get(0).modules().get(0).grade());
+            } finally {
+                service.close();
+            }
+            assertEquals(0, journal.entries());
+            assertEquals(80, saved.get(saved.size() - 1).get(1).enrolledCourses().get(0).modules().get(0).grade());
+        }
+    }
+
+    @Test
+    void pagesSearchResultsWithTheFullTotal() throws Exception {
+        ConcurrentRegister register = new ConcurrentRegister(1);
+        for (int number = 1; number <= 30; number++) {
+            register.put(RegisterJournalTest.student(number, number % 2 == 0 ? "Smith" : "Smythe", 50));
+        }
+        try (RegisterJournal journal = RegisterJournal.open(directory.resolve("register.journal"), student -> { }, number -> { })) {
+            RegisterService service = new RegisterService(register, journal, new RegisterMetrics(register::size, Map::of), 0,
+                    100, (students, nextStudentNumber) -> { });
+            service.start();
+            try {
+                String body = send(service, "GET", "/students?surname=sm&offset=10&limit=3", null).body();
+                assertTrue(body.startsWith("{\"total\":30,\"offset\":10,\"limit\":3,\"students\":[{\"studentNumber\":11,"), body);
+                assertEquals(3, body.split("\"studentNumber\"", -1).length - 1);
+            } finally {
+                service.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReportWriterTest {
+
+    private static String written(Consumer<ReportWriter> write) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportWriter report = new ReportWriter(out);
+        write.accept(report);
+        report.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void writesNumbersAcrossTheWholeRangeOfLong() {
+        for (long value : new long[]{0, 7, -7, 10, -10, 1_234_567, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1}) {
+            assertEquals(Long.toString(value), written(report -> report.number(value)));
+        }
+    }
+
+    @Test
+    void writesGradesToTwoPlacesRoundingHalfUp() {
+        assertEquals("0.00", written(report -> report.grade(0)));
+        assertEquals("67.50", written(report -> report.grade(67.5)));
+        assertEquals("66.67", written(report -> report.grade(200 / 3.0)));
+        assertEquals("0.13", written(report -> report.grade(0.125)));
+        assertEquals("-3.25", written(report -> report.grade(-3.25)));
+        assertEquals("0.00", written(report -> report.grade(-0.001)));
+        assertEquals("NaN", written(report -> report.grade(Double.NaN)));
+    }
+
+    @Test
+    void encodesTextAsUtf8() {
+        assertEquals("Zoë Ångström: 100", written(report -> report.text("Zoë Ångström: ").number(100)));
+    }
+
+    @Test
+    void keepsEverythingWhenTheOutputRunsPastTheBuffer() {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            expected.append("Name: Zoë, Student Number: ").append(i).append(", Average Grade: 50.00")
+                    .append(System.lineSeparator());
+        }
+        String actual = written(report -> {
+            for (int i = 0; i < 20_000; i++) {
+                report.text("Name: Zoë, Student Number: ").number(i).text(", Average Grade: ").grade(50).newLine();
+            }
+        });
+
+        assertEquals(expected.toString(), actual);
+    }
+
+    @Test
+    void reportsAFailedWriteAsUnchecked() {
+        ReportWriter report = new ReportWriter(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+        });
+        report.text("lost");
+
+        assertThrows(UncheckedIOException.class, report::flush);
+    }
+}
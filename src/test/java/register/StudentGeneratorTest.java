@@ -0,0 +1,55 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentGeneratorTest {
+    // the generator's chunk size; enough students for several chunks
+    private static final int CHUNK = 16_384;
+    private static final int COUNT = 8 * CHUNK;
+
+    private static Student[] generate(long seed) {
+        return new StudentGenerator(UniversityRegister.FIRST_NAMES, UniversityRegister.SURNAMES,
+                UniversityRegister.createCourses()).generate(1, COUNT, seed);
+    }
+
+    // everything but the student number
+    private static String profile(Student student) {
+        return student.firstName() + "/" + student.surname() + "/" + student.enrolledCourses();
+    }
+
+    @Test
+    void theSameSeedGivesTheSameRegister() {
+        assertEquals(List.of(generate(42)), List.of(generate(42)));
+        assertNotEquals(List.of(generate(42)), List.of(generate(43)));
+    }
+
+    @Test
+    void chunksAreNotShiftedCopiesOfEachOther() {
+        Student[] students = generate(42);
+        for (int chunk = 1; chunk < COUNT / CHUNK; chunk++) {
+            for (int shift = -8; shift <= 8; shift++) {
+                int same = 0;
+                for (int i = Math.max(0, -shift); i < CHUNK && i + shift < CHUNK; i++) {
+                    if (profile(students[i + shift]).equals(profile(students[chunk * CHUNK + i]))) {
+                        same++;
+                    }
+                }
+                // chance agreement between independent profiles is a few percent at most
+                assertTrue(same < CHUNK / 10, "chunk " + chunk + " matches chunk 0 shifted by " + shift + ": " + same);
+            }
+        }
+        Set<String> distinct = new HashSet<>();
+        for (Student student : students) {
+            distinct.add(profile(student));
+        }
+        assertTrue(distinct.size() > COUNT * 9 / 10, distinct.size() + " distinct profiles");
+    }
+}
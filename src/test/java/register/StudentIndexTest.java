@@ -0,0 +1,132 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentIndexTest {
+    private static final String[] SURNAMES = {"Smith", "Smythe", "Jones", "Smithson", "Johnson"};
+
+    private final StudentStore students = new StudentStore();
+
+    private StudentIndex index(int size) {
+        StudentIndex index = new StudentIndex(students::get);
+        for (int number = 1; number <= size; number++) {
+            Student student = new Student(number, number % 3 == 0 ? "Alice" : "Alicia", SURNAMES[number % SURNAMES.length], List.of());
+            students.put(student);
+            index.add(student);
+        }
+        return index;
+    }
+
+    private static List<Integer> numbers(List<Student> students) {
+        return students.stream().map(Student::studentNumber).toList();
+    }
+
+    @Test
+    void matchesAcrossNamesInStudentNumberOrder() {
+        StudentIndex index = index(40);
+        List<Integer> expected = new ArrayList<>();
+        for (int number = 1; number <= 40; number++) {
+            if (SURNAMES[number % SURNAMES.length].toLowerCase().contains("sm")) {
+                expected.add(number);
+            }
+        }
+
+        assertEquals(expected, numbers(index.searchSurname("SM")));
+    }
+
+    @Test
+    void pagesAreSlicesOfTheFullResultWithTheFullTotal() {
+        StudentIndex index = index(100);
+        List<Integer> all = numbers(index.searchSurname("s"));
+        for (int offset : new int[] {0, 1, 7, 55, all.size() - 1, all.size(), all.size() + 10}) {
+            StudentIndex.Page page = index.searchSurname("s", offset, 9);
+            assertEquals(all.size(), page.total());
+            assertEquals(all.subList(Math.min(offset, all.size()), Math.min(offset + 9, all.size())), numbers(page.students()),
+                    "offset " + offset);
+        }
+        // a single matching name is paged straight from its posting
+        StudentIndex.Page alice = index.searchFirstName("alice", 2, 3);
+        assertEquals(33, alice.total());
+        assertEquals(List.of(9, 12, 15), numbers(alice.students()));
+    }
+
+    @Test
+    void fuzzyPagesKeepTheRankOrder() {
+        StudentIndex index = index(30);
+        List<Integer> all = numbers(index.fuzzySearchSurname("smith"));
+        // exact spelling first, then one edit away
+        assertEquals("Smith", index.get(all.get(0)).surname());
+        StudentIndex.Page page = index.fuzzySearchSurname("smith", 4, 4);
+
+        assertEquals(all.size(), page.total());
+        assertEquals(all.subList(4, 8), numbers(page.students()));
+    }
+
+    @Test
+    void followsNameChangesAndRemovals() {
+        StudentIndex index = index(10);
+        Student renamed = new Student(5, "Bob", "Brown", List.of());
+        index.move(students.put(renamed), renamed);
+        Student unchanged = new Student(7, students.get(7).firstName(), students.get(7).surname(), List.of());
+        index.move(students.put(unchanged), unchanged);
+        index.remove(students.remove(6));
+
+        assertEquals(List.of(5), numbers(index.searchSurname("brown")));
+        assertTrue(numbers(index.searchSurname("smith")).stream().noneMatch(number -> number == 5 || number == 6));
+        assertNull(index.get(6));
+        // a grade change keeps the name, so the student is still found exactly once
+        assertEquals(1, numbers(index.searchSurname("jones")).stream().filter(number -> number == 7).count());
+        assertEquals(9, index.size());
+    }
+
+    @Test
+    void leavesOffStudentsRemovedFromTheRegister() {
+        StudentIndex index = index(10);
+        // the register dropped 4 but the index has not caught up yet
+        students.remove(4);
+
+        assertTrue(numbers(index.searchFirstName("ali")).stream().noneMatch(number -> number == 4));
+        assertEquals(10, index.searchFirstName("ali", 0, 20).total());
+    }
+
+    @Test
+    void bulkAddMatchesAddingOneByOne() {
+        StudentIndex single = index(40);
+        List<Student> added = new ArrayList<>(students);
+        StudentIndex bulk = new StudentIndex(students::get);
+        bulk.add(new Student(41, "Zed", "Zebedee", List.of()));
+        bulk.addAll(added);
+
+        assertEquals(numbers(single.searchSurname("s")), numbers(bulk.searchSurname("s")));
+        assertEquals(numbers(single.searchFirstName("ali")), numbers(bulk.searchFirstName("ali")));
+        assertEquals(numbers(single.fuzzySearchSurname("smith")), numbers(bulk.fuzzySearchSurname("smith")));
+        // a number the register does not hold is left off the results
+        assertTrue(bulk.searchSurname("zeb").isEmpty());
+        assertEquals(41, bulk.size());
+    }
+
+    @Test
+    void sortedIntSetKeepsValuesInOrder() {
+        SortedIntSet set = new SortedIntSet();
+        for (int value : new int[] {5, 9, 1, 7, 9, 3}) {
+            set.add(value);
+        }
+        assertTrue(set.remove(7));
+        assertFalse(set.remove(8));
+
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < set.size(); i++) {
+            values.add(set.get(i));
+        }
+        assertEquals(List.of(1, 3, 5, 9), values);
+        assertTrue(set.contains(9));
+    }
+}
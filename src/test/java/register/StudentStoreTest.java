@@ -0,0 +1,88 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StudentStoreTest {
+    private static Student student(int studentNumber) {
+        return new Student(studentNumber, "First" + studentNumber, "Surname" + studentNumber, List.of());
+    }
+
+    private static List<Integer> numbers(StudentStore store) {
+        List<Integer> numbers = new ArrayList<>();
+        store.forEach(student -> numbers.add(student.studentNumber()));
+        return numbers;
+    }
+
+    @Test
+    void replacesInPlaceAndIteratesInNumberOrder() {
+        StudentStore store = new StudentStore();
+        for (int number = 1; number <= 5; number++) {
+            store.put(student(number));
+        }
+        Student replacement = new Student(3, "Ada", "Lovelace", List.of());
+
+        assertEquals(student(3), store.put(replacement));
+        assertEquals(student(2), store.remove(2));
+        assertNull(store.remove(2));
+
+        assertSame(replacement, store.get(3));
+        assertEquals(List.of(1, 3, 4, 5), numbers(store));
+        assertEquals(4, store.size());
+    }
+
+    @Test
+    void reclaimsRemovedStudentsAtTheHeadAndKeepsLookupsWorking() {
+        StudentStore store = new StudentStore();
+        for (int number = 1; number <= 100; number++) {
+            store.put(student(number));
+        }
+        // removing the oldest students slides the window once they fill half the slots
+        for (int number = 1; number <= 90; number++) {
+            store.remove(number);
+        }
+        for (int number = 101; number <= 300; number++) {
+            store.put(student(number));
+        }
+
+        assertNull(store.get(1));
+        assertNull(store.get(90));
+        assertEquals(student(91), store.get(91));
+        assertEquals(student(300), store.get(300));
+        assertEquals(210, store.size());
+        List<Integer> expected = new ArrayList<>();
+        for (int number = 91; number <= 300; number++) {
+            expected.add(number);
+        }
+        assertEquals(expected, numbers(store));
+    }
+
+    @Test
+    void widensDownwardsForNumbersBelowTheWindow() {
+        StudentStore store = new StudentStore();
+        store.put(student(50));
+        store.put(student(52));
+        store.put(student(10));
+
+        assertEquals(List.of(10, 50, 52), numbers(store));
+        assertEquals(student(10), store.get(10));
+        assertNull(store.get(11));
+    }
+
+    @Test
+    void startsAFreshWindowOnceEmpty() {
+        StudentStore store = new StudentStore();
+        store.put(student(1));
+        store.remove(1);
+        store.put(student(1_000_000));
+
+        assertEquals(List.of(1_000_000), numbers(store));
+        assertNull(store.get(1));
+    }
+}
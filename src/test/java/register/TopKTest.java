@@ -0,0 +1,66 @@
+package register;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopKTest {
+
+    private static List<RankedStudent> scores(int count) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<RankedStudent> scores = new ArrayList<>();
+        for (int number = 1; number <= count; number++) {
+            // few distinct scores, so ties are common
+            scores.add(new RankedStudent(number, random.nextInt(20) * 5.0));
+        }
+        return scores;
+    }
+
+    private static List<RankedStudent> best(List<RankedStudent> scores, int k) {
+        return scores.stream()
+                .sorted(Comparator.comparingDouble(RankedStudent::score).reversed()
+                        .thenComparingInt(RankedStudent::studentNumber))
+                .limit(k)
+                .toList();
+    }
+
+    @Test
+    void keepsTheHighestScoresWithTiesGoingToTheLowerNumber() {
+        List<RankedStudent> scores = scores(1_000);
+        for (int k : new int[]{1, 5, 64, 1_000, 2_000}) {
+            TopK top = new TopK(k);
+            // offered highest number first, so ties have to be settled rather than kept in arrival order
+            for (int i = scores.size() - 1; i >= 0; i--) {
+                top.offer(scores.get(i).score(), scores.get(i).studentNumber());
+            }
+            assertEquals(best(scores, k), top.ranked(), "k=" + k);
+        }
+    }
+
+    @Test
+    void mergedHeapsKeepWhatOneHeapWould() {
+        List<RankedStudent> scores = scores(500);
+        TopK left = new TopK(10);
+        TopK right = new TopK(10);
+        for (RankedStudent ranked : scores) {
+            (ranked.studentNumber() % 3 == 0 ? left : right).offer(ranked.score(), ranked.studentNumber());
+        }
+
+        assertEquals(best(scores, 10), left.merge(right).ranked());
+    }
+
+    @Test
+    void keepsNothingForZeroAndRejectsANegativeSize() {
+        TopK none = new TopK(0);
+        none.offer(100, 1);
+
+        assertEquals(List.of(), none.ranked());
+        assertThrows(IllegalArgumentException.class, () -> new TopK(-1));
+    }
+}